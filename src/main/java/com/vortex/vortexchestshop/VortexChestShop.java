@@ -3,12 +3,19 @@
 package com.vortex.vortexchestshop;
 
 import com.vortex.vortexchestshop.commands.ShopCommand;
+import com.vortex.vortexchestshop.config.MessageService;
+import com.vortex.vortexchestshop.config.Settings;
 import com.vortex.vortexchestshop.listeners.PlayerListener;
+import com.vortex.vortexchestshop.listeners.PremiumListener;
 import com.vortex.vortexchestshop.listeners.ShopListener;
+import com.vortex.vortexchestshop.listeners.StockListener;
 import com.vortex.vortexchestshop.managers.EconomyManager;
 import com.vortex.vortexchestshop.managers.FloatingItemDisplayManager;
 import com.vortex.vortexchestshop.managers.HologramManager;
+import com.vortex.vortexchestshop.managers.PremiumProfileManager;
+import com.vortex.vortexchestshop.managers.PurchasePipeline;
 import com.vortex.vortexchestshop.managers.ShopManager;
+import com.vortex.vortexchestshop.managers.ShopUpdateQueue;
 import com.vortex.vortexchestshop.utils.Logger;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.Bukkit;
@@ -28,6 +35,14 @@ public final class VortexChestShop extends JavaPlugin {
     private ShopManager shopManager;
     private FloatingItemDisplayManager floatingItemDisplayManager;
     private HologramManager hologramManager;
+    private PremiumProfileManager premiumProfileManager;
+    private ShopUpdateQueue shopUpdateQueue;
+    private PurchasePipeline purchasePipeline;
+
+    // Settings parsed from config.yml; replaced as a whole on reload
+    private volatile Settings settings;
+    // Compiled messages.* templates; recompiled on reload
+    private MessageService messageService;
 
     // Vault Economy instance, will be set up during onEnable
     private Economy economy = null;
@@ -40,6 +55,8 @@ public final class VortexChestShop extends JavaPlugin {
 
         // Save default config if it doesn't exist. This also loads the config into memory.
         saveDefaultConfig();
+        settings = Settings.load(getConfig());
+        messageService = new MessageService(getConfig());
 
         // Initialize managers. Order matters for some (e.g., EconomyManager first).
         initializeManagers();
@@ -62,8 +79,14 @@ public final class VortexChestShop extends JavaPlugin {
 
         // Load existing shops from configuration (or database)
         shopManager.loadShops();
-        // Start the tasks for floating item displays (rotation, particles, stock checks)
+        // Start the tasks for floating item displays (rotation, particles)
         floatingItemDisplayManager.startDisplayTasks();
+        // Start re-resolving PlaceholderAPI results in holograms
+        hologramManager.startPlaceholderRefresh();
+        // Start the time-sliced stock verifier; regular stock changes are tracked from inventory events
+        shopManager.getStockTracker().start();
+        // Resolve the premium profiles of online players and start refreshing them periodically
+        premiumProfileManager.start();
 
         Logger.info("VortexChestShop has been enabled successfully!");
     }
@@ -72,16 +95,29 @@ public final class VortexChestShop extends JavaPlugin {
     public void onDisable() {
         Logger.info("VortexChestShop is disabling...");
 
+        if (premiumProfileManager != null) {
+            premiumProfileManager.stop();
+        }
+
+        // Finish purchases whose payment is still running, before the ledger is closed
+        if (purchasePipeline != null) {
+            purchasePipeline.shutdown();
+        }
+
+        if (shopUpdateQueue != null) {
+            shopUpdateQueue.shutdown();
+        }
+
         // Stop all floating item display tasks and clean up spawned entities/holograms
         if (floatingItemDisplayManager != null) {
             floatingItemDisplayManager.stopDisplayTasks();
             floatingItemDisplayManager.cleanupAllDisplays();
         }
 
-        // Save any pending shop data.
-        // While individual shop changes are saved immediately, this acts as a final safeguard.
+        // Write any pending shop changes and wait for the storage thread to finish.
+        // Individual shop changes are queued as they happen, so only the unflushed tail remains.
         if (shopManager != null) {
-            shopManager.saveShops();
+            shopManager.shutdown();
         }
 
         Logger.info("VortexChestShop has been disabled.");
@@ -96,6 +132,22 @@ public final class VortexChestShop extends JavaPlugin {
         return instance;
     }
 
+    /**
+     * Reloads config.yml and swaps in a new settings snapshot.
+     * Tasks whose intervals come from the settings are restarted with the new values.
+     * The display and storage backends are only chosen on startup; changing them requires a restart.
+     */
+    public void reloadPluginConfig() {
+        reloadConfig();
+        settings = Settings.load(getConfig());
+        messageService.reload(getConfig());
+        floatingItemDisplayManager.startDisplayTasks();
+        hologramManager.startPlaceholderRefresh();
+        shopManager.getStockTracker().start();
+        premiumProfileManager.start();
+        Logger.info("Reloaded configuration.");
+    }
+
     /**
      * Initializes all custom managers used by the plugin.
      * The order of initialization might be important if managers depend on each other.
@@ -105,6 +157,9 @@ public final class VortexChestShop extends JavaPlugin {
         this.shopManager = new ShopManager(this);
         this.floatingItemDisplayManager = new FloatingItemDisplayManager(this);
         this.hologramManager = new HologramManager(this);
+        this.premiumProfileManager = new PremiumProfileManager(this);
+        this.shopUpdateQueue = new ShopUpdateQueue(this);
+        this.purchasePipeline = new PurchasePipeline(this);
         Logger.info("All plugin managers initialized.");
     }
 
@@ -164,6 +219,8 @@ public final class VortexChestShop extends JavaPlugin {
     private void registerListeners() {
         getServer().getPluginManager().registerEvents(new PlayerListener(this), this);
         getServer().getPluginManager().registerEvents(new ShopListener(this), this);
+        getServer().getPluginManager().registerEvents(new StockListener(this), this);
+        getServer().getPluginManager().registerEvents(new PremiumListener(this), this);
         Logger.info("Registered event listeners.");
     }
 
@@ -198,6 +255,31 @@ public final class VortexChestShop extends JavaPlugin {
         return hologramManager;
     }
 
+    public PremiumProfileManager getPremiumProfileManager() {
+        return premiumProfileManager;
+    }
+
+    public ShopUpdateQueue getShopUpdateQueue() {
+        return shopUpdateQueue;
+    }
+
+    /**
+     * Gets the current settings snapshot. Keep the returned object for the duration of an operation
+     * to see consistent values across a reload.
+     * @return The current settings.
+     */
+    public Settings getSettings() {
+        return settings;
+    }
+
+    public PurchasePipeline getPurchasePipeline() {
+        return purchasePipeline;
+    }
+
+    public MessageService getMessageService() {
+        return messageService;
+    }
+
     public Economy getEconomy() {
         return economy;
     }
@@ -3,6 +3,8 @@
 package com.vortex.vortexchestshop.commands;
 
 import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.managers.ParticleBudget;
+import com.vortex.vortexchestshop.managers.StockVerifier;
 import com.vortex.vortexchestshop.models.ChestShop;
 import com.vortex.vortexchestshop.utils.Logger;
 import org.bukkit.Bukkit;
@@ -22,6 +24,7 @@ import org.bukkit.inventory.meta.ItemMeta; // Import for ItemMeta
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class ShopCommand implements CommandExecutor, TabCompleter {
@@ -40,7 +43,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         }
 
         Player player = (Player) sender;
-        String prefix = ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix"));
+        String prefix = plugin.getSettings().messagePrefix();
 
         if (args.length == 0 || args[0].equalsIgnoreCase("help")) {
             sendHelpMessage(player);
@@ -88,7 +91,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      * @param player The player to send the help message to.
      */
     private void sendHelpMessage(Player player) {
-        String prefix = ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix"));
+        String prefix = plugin.getSettings().messagePrefix();
         player.sendMessage(ChatColor.translateAlternateColorCodes('&', prefix + "&b--- VortexChestShop Commands ---"));
         player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&e/shop create <price> <quantity> &7- Create a new shop with the item in your hand."));
         player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&e/shop remove &7- Remove the shop you are looking at."));
@@ -102,6 +105,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
             player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&6/shop admin setdisplay <player> [on/off] &7- Toggle display for another player's shops."));
             player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&6/shop admin grantslot <player> <amount> &7- Grant extra shop slots."));
             player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&6/shop admin unlockarea <player> <zone> &7- Unlock premium market access."));
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&6/shop admin status &7- Show the timings of the background shop tasks."));
             player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&6/shop reload &7- Reload plugin configuration.")); // Also listed here for clarity
         }
         player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&b----------------------------"));
@@ -113,9 +117,9 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      * @param args The command arguments.
      */
     private void handleCreateCommand(Player player, String[] args) {
-        String prefix = ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix"));
+        String prefix = plugin.getSettings().messagePrefix();
         if (!player.hasPermission("vortexchestshop.player.createshop")) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.no-permission")));
+            plugin.getMessageService().send(player, "no-permission");
             return;
         }
 
@@ -141,7 +145,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
 
         Block targetBlock = player.getTargetBlockExact(5); // Get block player is looking at within 5 blocks
         if (targetBlock == null || !(targetBlock.getState() instanceof Chest)) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-not-a-chest")));
+            plugin.getMessageService().send(player, "error-not-a-chest");
             return;
         }
 
@@ -163,32 +167,32 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      * @param player The player executing the command.
      */
     private void handleRemoveCommand(Player player) {
-        String prefix = ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix"));
+        String prefix = plugin.getSettings().messagePrefix();
         if (!player.hasPermission("vortexchestshop.player.createshop")) { // Same permission for creating/removing
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.no-permission")));
+            plugin.getMessageService().send(player, "no-permission");
             return;
         }
 
         Block targetBlock = player.getTargetBlockExact(5);
         if (targetBlock == null || !(targetBlock.getState() instanceof Chest)) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-not-a-chest")));
+            plugin.getMessageService().send(player, "error-not-a-chest");
             return;
         }
 
         ChestShop shop = plugin.getShopManager().getShopAtLocation(targetBlock.getLocation());
         if (shop == null) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-shop-not-found")));
+            plugin.getMessageService().send(player, "error-shop-not-found");
             return;
         }
 
         // Allow owner or admin to remove the shop
         if (!shop.getOwnerUUID().equals(player.getUniqueId()) && !player.hasPermission("vortexchestshop.admin.removeshop")) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-not-your-shop")));
+            plugin.getMessageService().send(player, "error-not-your-shop");
             return;
         }
 
         if (plugin.getShopManager().removeShop(targetBlock.getLocation())) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.shop-removed")));
+            plugin.getMessageService().send(player, "shop-removed");
         } else {
             player.sendMessage(prefix + ChatColor.RED + "Failed to remove shop.");
         }
@@ -199,21 +203,21 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      * @param player The player executing the command.
      */
     private void handleSetItemCommand(Player player) {
-        String prefix = ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix"));
+        String prefix = plugin.getSettings().messagePrefix();
         Block targetBlock = player.getTargetBlockExact(5);
         if (targetBlock == null || !(targetBlock.getState() instanceof Chest)) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-not-a-chest")));
+            plugin.getMessageService().send(player, "error-not-a-chest");
             return;
         }
 
         ChestShop shop = plugin.getShopManager().getShopAtLocation(targetBlock.getLocation());
         if (shop == null) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-shop-not-found")));
+            plugin.getMessageService().send(player, "error-shop-not-found");
             return;
         }
 
         if (!shop.getOwnerUUID().equals(player.getUniqueId())) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-not-your-shop")));
+            plugin.getMessageService().send(player, "error-not-your-shop");
             return;
         }
 
@@ -227,10 +231,9 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         newSoldItem.setAmount(1); // Store as single item
 
         shop.setSoldItem(newSoldItem);
-        // Save the updated shop to config
-        plugin.getShopManager().saveShops(); // Re-save all shops for simplicity, or implement single shop save
-        player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.item-changed")
-                .replace("%item_name%", getItemDisplayName(newSoldItem))));
+        // Queue the updated shop to be saved
+        plugin.getShopManager().saveShop(shop);
+        plugin.getMessageService().send(player, "item-changed", "item_name", getItemDisplayName(newSoldItem));
     }
 
     /**
@@ -239,7 +242,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      * @param args The command arguments.
      */
     private void handleSetPriceCommand(Player player, String[] args) {
-        String prefix = ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix"));
+        String prefix = plugin.getSettings().messagePrefix();
         if (args.length < 2) {
             player.sendMessage(prefix + ChatColor.RED + "Usage: /shop setprice <price>");
             return;
@@ -260,23 +263,23 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
 
         Block targetBlock = player.getTargetBlockExact(5);
         if (targetBlock == null || !(targetBlock.getState() instanceof Chest)) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-not-a-chest")));
+            plugin.getMessageService().send(player, "error-not-a-chest");
             return;
         }
 
         ChestShop shop = plugin.getShopManager().getShopAtLocation(targetBlock.getLocation());
         if (shop == null) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-shop-not-found")));
+            plugin.getMessageService().send(player, "error-shop-not-found");
             return;
         }
 
         if (!shop.getOwnerUUID().equals(player.getUniqueId())) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-not-your-shop")));
+            plugin.getMessageService().send(player, "error-not-your-shop");
             return;
         }
 
         shop.setPrice(newPrice);
-        plugin.getShopManager().saveShops();
+        plugin.getShopManager().saveShop(shop);
         player.sendMessage(prefix + ChatColor.GREEN + "Shop price updated to: " + ChatColor.YELLOW + String.format("%,.2f", newPrice));
     }
 
@@ -286,7 +289,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      * @param args The command arguments.
      */
     private void handleSetQuantityCommand(Player player, String[] args) {
-        String prefix = ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix"));
+        String prefix = plugin.getSettings().messagePrefix();
         if (args.length < 2) {
             player.sendMessage(prefix + ChatColor.RED + "Usage: /shop setquantity <quantity>");
             return;
@@ -307,23 +310,23 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
 
         Block targetBlock = player.getTargetBlockExact(5);
         if (targetBlock == null || !(targetBlock.getState() instanceof Chest)) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-not-a-chest")));
+            plugin.getMessageService().send(player, "error-not-a-chest");
             return;
         }
 
         ChestShop shop = plugin.getShopManager().getShopAtLocation(targetBlock.getLocation());
         if (shop == null) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-shop-not-found")));
+            plugin.getMessageService().send(player, "error-shop-not-found");
             return;
         }
 
         if (!shop.getOwnerUUID().equals(player.getUniqueId())) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-not-your-shop")));
+            plugin.getMessageService().send(player, "error-not-your-shop");
             return;
         }
 
         shop.setQuantity(newQuantity);
-        plugin.getShopManager().saveShops();
+        plugin.getShopManager().saveShop(shop);
         player.sendMessage(prefix + ChatColor.GREEN + "Shop quantity per transaction updated to: " + ChatColor.YELLOW + newQuantity);
     }
 
@@ -333,21 +336,21 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      * @param args The command arguments.
      */
     private void handleSetDisplayCommand(Player player, String[] args) {
-        String prefix = ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix"));
+        String prefix = plugin.getSettings().messagePrefix();
         Block targetBlock = player.getTargetBlockExact(5);
         if (targetBlock == null || !(targetBlock.getState() instanceof Chest)) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-not-a-chest")));
+            plugin.getMessageService().send(player, "error-not-a-chest");
             return;
         }
 
         ChestShop shop = plugin.getShopManager().getShopAtLocation(targetBlock.getLocation());
         if (shop == null) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-shop-not-found")));
+            plugin.getMessageService().send(player, "error-shop-not-found");
             return;
         }
 
         if (!shop.getOwnerUUID().equals(player.getUniqueId())) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-not-your-shop")));
+            plugin.getMessageService().send(player, "error-not-your-shop");
             return;
         }
 
@@ -368,10 +371,8 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         }
 
         shop.setDisplayEnabled(enable);
-        plugin.getShopManager().saveShops();
-        player.sendMessage(prefix + (enable ?
-                ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.admin-display-toggle-on").replace("%player%", player.getName())) :
-                ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.admin-display-toggle-off").replace("%player%", player.getName()))));
+        plugin.getShopManager().saveShop(shop);
+        plugin.getMessageService().send(player, enable ? "admin-display-toggle-on" : "admin-display-toggle-off", "player", player.getName());
     }
 
     /**
@@ -380,9 +381,9 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      * @param args The command arguments.
      */
     private void handleAdminCommand(Player player, String[] args) {
-        String prefix = ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix"));
+        String prefix = plugin.getSettings().messagePrefix();
         if (!player.hasPermission("vortexchestshop.admin.use")) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.no-permission")));
+            plugin.getMessageService().send(player, "no-permission");
             return;
         }
 
@@ -404,21 +405,56 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
             case "reload":
                 handleAdminReload(player);
                 break;
+            case "status":
+                handleAdminStatus(player);
+                break;
             default:
                 player.sendMessage(prefix + ChatColor.RED + "Unknown admin subcommand. Use /shop help for admin commands.");
                 break;
         }
     }
 
+    /**
+     * Handles the /shop admin status command, showing how the background shop tasks are keeping up:
+     * the last stock verification cycle and the last particle budget interval.
+     * @param player The admin executing the command.
+     */
+    private void handleAdminStatus(Player player) {
+        String prefix = plugin.getSettings().messagePrefix();
+        if (!player.hasPermission("vortexchestshop.admin.status")) {
+            plugin.getMessageService().send(player, "no-permission");
+            return;
+        }
+
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&', prefix + "&b--- VortexChestShop Status ---"));
+        StockVerifier verifier = plugin.getShopManager().getStockTracker().getVerifier();
+        if (verifier == null || verifier.getLastCycleTicks() < 0) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&eStock verification: &7No cycle completed yet."));
+        } else {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&eStock verification: &fLast cycle checked &e"
+                    + verifier.getLastCycleShops() + "&f shops over &e" + verifier.getLastCycleTicks() + "&f ticks ("
+                    + TimeUnit.NANOSECONDS.toMillis(verifier.getLastCycleNanos()) + "ms)."));
+        }
+        ParticleBudget particleBudget = plugin.getFloatingItemDisplayManager().getParticleBudget();
+        if (particleBudget.getLastSaturatedTicks() < 0) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&eParticle budget: &7No interval completed yet."));
+        } else {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&eParticle budget: &fSaturated in &e"
+                    + particleBudget.getLastSaturatedTicks() + "&f of the last &e" + particleBudget.getReportIntervalTicks()
+                    + "&f ticks; dropped &e" + particleBudget.getLastDropped() + "&f of &e"
+                    + particleBudget.getLastRequested() + "&f particle requests."));
+        }
+    }
+
     /**
      * Handles the /shop admin setdisplay <player> [on/off] command.
      * @param player The admin executing the command.
      * @param args The command arguments.
      */
     private void handleAdminSetDisplay(Player player, String[] args) {
-        String prefix = ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix"));
+        String prefix = plugin.getSettings().messagePrefix();
         if (!player.hasPermission("vortexchestshop.admin.setdisplay")) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.no-permission")));
+            plugin.getMessageService().send(player, "no-permission");
             return;
         }
         if (args.length < 4) {
@@ -0,0 +1,184 @@
+// src/main/java/com/vortex/vortexchestshop/config/MessageService.java
+
+package com.vortex.vortexchestshop.config;
+
+import com.vortex.vortexchestshop.utils.Logger;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the messages configured under messages.* in config.yml.
+ * <p>
+ * Each message is compiled once (on enable and on every reload) into a template: color codes are translated and
+ * the text is split at its %placeholder% slots. Rendering only appends the literal parts and the supplied values
+ * to a per-thread StringBuilder, so sending a message costs one String allocation instead of a color translation
+ * and a chain of replace() calls.
+ * <p>
+ * Placeholder values are passed as name/value pairs, with names given without the percent signs:
+ * {@code send(player, "stock-updated", "stock", String.valueOf(stock))}. Slots without a supplied value are
+ * rendered unchanged.
+ */
+public class MessageService {
+
+    private static final String MESSAGES_PATH = "messages.";
+    // Builders that grew past this (e.g., for an unusually long message) are not kept around
+    private static final int MAX_BUILDER_CAPACITY = 1024;
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    /**
+     * A compiled message: literal text with placeholder slots in between.
+     * {@code literals} always has one more element than {@code slots}.
+     */
+    private static final class MessageTemplate {
+        private final String[] literals;
+        private final String[] slots;
+
+        private MessageTemplate(String[] literals, String[] slots) {
+            this.literals = literals;
+            this.slots = slots;
+        }
+
+        private void appendTo(StringBuilder builder, String[] placeholders) {
+            for (int i = 0; i < slots.length; i++) {
+                builder.append(literals[i]);
+                String value = lookup(slots[i], placeholders);
+                if (value != null) {
+                    builder.append(value);
+                } else {
+                    builder.append('%').append(slots[i]).append('%'); // Leave unknown placeholders as they were
+                }
+            }
+            builder.append(literals[slots.length]);
+        }
+
+        private static String lookup(String slot, String[] placeholders) {
+            for (int i = 0; i + 1 < placeholders.length; i += 2) {
+                if (slot.equals(placeholders[i])) {
+                    return placeholders[i + 1];
+                }
+            }
+            return null;
+        }
+    }
+
+    private volatile FileConfiguration config;
+    private volatile String prefix;
+    private volatile Map<String, MessageTemplate> templates;
+
+    public MessageService(FileConfiguration config) {
+        reload(config);
+    }
+
+    /**
+     * Recompiles every message from a (re)loaded config. The new templates replace the old ones at once.
+     * @param config The plugin's config.
+     */
+    public void reload(FileConfiguration config) {
+        Map<String, MessageTemplate> compiled = new ConcurrentHashMap<>();
+        ConfigurationSection section = config.getConfigurationSection("messages");
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                if (!key.equals("prefix") && section.isString(key)) {
+                    compiled.put(key, compile(section.getString(key)));
+                }
+            }
+        }
+        this.config = config;
+        this.prefix = ChatColor.translateAlternateColorCodes('&', config.getString(MESSAGES_PATH + "prefix", ""));
+        this.templates = compiled;
+    }
+
+    /**
+     * Sends a message with the message prefix.
+     * @param recipient The player or console to send the message to.
+     * @param key The message's key under messages.*, e.g. "shop-created".
+     * @param placeholders Placeholder names (without percent signs) and their values, alternating.
+     */
+    public void send(CommandSender recipient, String key, String... placeholders) {
+        recipient.sendMessage(render(prefix, key, placeholders));
+    }
+
+    /**
+     * Renders a message without the message prefix.
+     * @param key The message's key under messages.*.
+     * @param placeholders Placeholder names (without percent signs) and their values, alternating.
+     * @return The rendered message.
+     */
+    public String format(String key, String... placeholders) {
+        return render("", key, placeholders);
+    }
+
+    private String render(String head, String key, String[] placeholders) {
+        MessageTemplate template = getTemplate(key);
+        StringBuilder builder = BUILDER.get();
+        if (builder.capacity() > MAX_BUILDER_CAPACITY) {
+            builder = new StringBuilder(128);
+            BUILDER.set(builder);
+        }
+        builder.setLength(0);
+        builder.append(head);
+        template.appendTo(builder, placeholders);
+        return builder.toString();
+    }
+
+    /**
+     * Gets the template of a message, compiling it on first use if it is only present in the default config.
+     */
+    private MessageTemplate getTemplate(String key) {
+        MessageTemplate template = templates.get(key);
+        if (template == null) {
+            template = templates.computeIfAbsent(key, k -> {
+                String message = config.getString(MESSAGES_PATH + k);
+                if (message == null) {
+                    Logger.warning("Missing message '" + MESSAGES_PATH + k + "' in config.yml.");
+                    message = MESSAGES_PATH + k;
+                }
+                return compile(message);
+            });
+        }
+        return template;
+    }
+
+    /**
+     * Translates the color codes of a message and splits it at its %placeholder% slots.
+     */
+    private static MessageTemplate compile(String message) {
+        String text = ChatColor.translateAlternateColorCodes('&', message);
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            int end = c == '%' ? text.indexOf('%', i + 1) : -1;
+            if (end > i + 1 && isSlotName(text, i + 1, end)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                slots.add(text.substring(i + 1, end));
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+        return new MessageTemplate(literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    private static boolean isSlotName(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,137 @@
+// src/main/java/com/vortex/vortexchestshop/config/Settings.java
+
+package com.vortex.vortexchestshop.config;
+
+import com.vortex.vortexchestshop.utils.Logger;
+import org.bukkit.ChatColor;
+import org.bukkit.Particle;
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * Immutable snapshot of the settings read on hot paths (display ticks, interactions, purchases, holograms).
+ * <p>
+ * Parsed once from config.yml on enable and on every reload; the plugin swaps the whole snapshot at once, so
+ * readers always see a consistent set of values. Enum and color-code values are resolved while parsing.
+ * Settings only read at startup (e.g., storage) are still read from the config directly.
+ *
+ * @param debugMode Whether debug messages are logged.
+ * @param messagePrefix The message prefix, with color codes translated.
+ * @param defaultDisplayEnabled Whether new shops have their floating display enabled.
+ * @param f2pMaxShops The shop limit of players without a premium slot permission.
+ * @param bulkBuyEnabled Whether sneak-clicking a shop buys several transactions at once.
+ * @param bulkBuyMaxTransactions The maximum number of transactions bought with one sneak-click.
+ * @param f2pTransactionTax The tax rate for regular sellers.
+ * @param premiumTransactionTax The tax rate for sellers with the reduced tax permission.
+ * @param asyncEconomy Whether purchases run their economy calls on a background thread.
+ * @param displayBackend The configured floating display backend name.
+ * @param baseRotationSpeed Rotation per update of regular displays, in radians.
+ * @param premiumRotationSpeed Rotation per update of premium displays, in radians.
+ * @param premiumParticle The particle spawned above premium displays, or null if particles are disabled or invalid.
+ * @param premiumParticleAmount The number of particles per update.
+ * @param premiumGlowingOutline Whether premium displays may glow.
+ * @param premiumLongRange Whether premium displays may use the long-range view distance.
+ * @param longRangeDistance The long-range view distance, in blocks.
+ * @param packetViewDistance The view distance of packet displays, in blocks.
+ * @param itemDisplayRotationInterval Ticks between rotation updates of ItemDisplay displays.
+ * @param hologramsEnabled Whether hologram text is shown.
+ * @param hologramItemNameFormat The format of the hologram's item name line.
+ * @param hologramPriceFormat The format of the hologram's price line.
+ * @param hologramYOffset The hologram's height above the chest.
+ * @param hologramBackend The configured hologram backend name.
+ * @param hologramViewDistance The view distance of TextDisplay holograms, in blocks.
+ * @param hologramPlaceholderRefreshTicks Ticks for which rendered PlaceholderAPI results are reused.
+ * @param floatingItemTickRate Ticks between updates of the same display.
+ * @param stockCheckRate Minimum ticks for one full stock verification pass.
+ * @param stockCheckBudgetNanos Maximum time per tick for stock verification.
+ * @param premiumRefreshInterval Ticks between premium profile refreshes.
+ * @param displayCullDistance Distance in blocks beyond which displays are not animated.
+ * @param particleBudgetPerWorld Maximum display particles spawned per tick in one world.
+ * @param particleBudgetPerPlayer Maximum display particles sent to one player per tick.
+ */
+public record Settings(
+        boolean debugMode,
+        String messagePrefix,
+        boolean defaultDisplayEnabled,
+        int f2pMaxShops,
+        boolean bulkBuyEnabled,
+        int bulkBuyMaxTransactions,
+        double f2pTransactionTax,
+        double premiumTransactionTax,
+        boolean asyncEconomy,
+        String displayBackend,
+        double baseRotationSpeed,
+        double premiumRotationSpeed,
+        Particle premiumParticle,
+        int premiumParticleAmount,
+        boolean premiumGlowingOutline,
+        boolean premiumLongRange,
+        int longRangeDistance,
+        int packetViewDistance,
+        int itemDisplayRotationInterval,
+        boolean hologramsEnabled,
+        String hologramItemNameFormat,
+        String hologramPriceFormat,
+        double hologramYOffset,
+        String hologramBackend,
+        int hologramViewDistance,
+        long hologramPlaceholderRefreshTicks,
+        int floatingItemTickRate,
+        long stockCheckRate,
+        long stockCheckBudgetNanos,
+        long premiumRefreshInterval,
+        int displayCullDistance,
+        int particleBudgetPerWorld,
+        int particleBudgetPerPlayer) {
+
+    /**
+     * Parses the settings from a loaded config.
+     * @param config The plugin's config.
+     * @return The parsed settings.
+     */
+    public static Settings load(FileConfiguration config) {
+        return new Settings(
+                config.getBoolean("debug-mode", false),
+                ChatColor.translateAlternateColorCodes('&', config.getString("messages.prefix", "")),
+                config.getBoolean("shop-settings.default-floating-display-enabled", true),
+                config.getInt("shop-settings.f2p-max-shops", 5),
+                config.getBoolean("shop-settings.bulk-buy-enabled", true),
+                Math.max(1, config.getInt("shop-settings.bulk-buy-max-transactions", 64)),
+                config.getDouble("shop-settings.f2p-transaction-tax", 0.05),
+                config.getDouble("shop-settings.premium-transaction-tax", 0.02),
+                config.getBoolean("economy.async-transactions", false),
+                config.getString("floating-display.backend", "ITEM_DISPLAY"),
+                config.getDouble("floating-display.base-rotation-speed", 0.05),
+                config.getDouble("floating-display.premium-rotation-speed", 0.1),
+                config.getBoolean("floating-display.premium-particles-enabled", true)
+                        ? parseParticle(config.getString("floating-display.premium-particle-type", "SPARKLE")) : null,
+                config.getInt("floating-display.premium-particle-amount", 5),
+                config.getBoolean("floating-display.premium-glowing-outline-enabled", true),
+                config.getBoolean("floating-display.premium-long-range-visibility", true),
+                config.getInt("floating-display.long-range-distance", 64),
+                config.getInt("floating-display.packet-view-distance", 48),
+                Math.max(1, config.getInt("floating-display.item-display-rotation-interval", 40)),
+                config.getBoolean("hologram-text.enabled", true),
+                config.getString("hologram-text.item-name-format", "&b%item_display_name%"),
+                config.getString("hologram-text.price-format", "&aPrice: &e$%price% each"),
+                config.getDouble("hologram-text.y-offset", 0.5),
+                config.getString("hologram-text.backend", "TEXT_DISPLAY"),
+                config.getInt("hologram-text.view-distance", 32),
+                Math.max(1L, config.getLong("hologram-text.placeholder-refresh-interval", 100L)),
+                Math.max(1, config.getInt("performance.floating-item-tick-rate", 1)),
+                config.getLong("performance.stock-check-rate", 1200),
+                config.getLong("performance.stock-check-budget-nanos", 500000),
+                Math.max(20L, config.getLong("performance.premium-refresh-interval", 600L)),
+                config.getInt("performance.display-cull-distance", 64),
+                config.getInt("performance.particle-budget-per-world", 200),
+                config.getInt("performance.particle-budget-per-player", 50));
+    }
+
+    private static Particle parseParticle(String name) {
+        try {
+            return Particle.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            Logger.warning("Invalid particle type specified in config: " + name + ". Premium particles are disabled.");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+// src/main/java/com/vortex/vortexchestshop/display/ArmorStandDisplayBackend.java
+
+package com.vortex.vortexchestshop.display;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.events.ListenerPriority;
+import com.comphenix.protocol.events.PacketAdapter;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.events.PacketEvent;
+import com.comphenix.protocol.wrappers.WrappedChatComponent;
+import com.comphenix.protocol.wrappers.WrappedDataValue;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.models.ChestShop;
+import com.vortex.vortexchestshop.utils.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.EulerAngle;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Displays items on invisible marker ArmorStands spawned in the world.
+ * Works without any other plugin; the premium visual flags need ProtocolLib. Their metadata packet is built once
+ * per flag state and sent once to each player tracking the ArmorStand, bundled with their other display packets.
+ * Players who start tracking the ArmorStand later get the flags patched into the metadata the server sends with
+ * the spawn, so the visuals never depend on who was in range when they changed.
+ */
+public class ArmorStandDisplayBackend implements DisplayBackend {
+
+    private static final byte FLAG_GLOWING = 1;
+    private static final byte FLAG_LONG_RANGE = 2;
+
+    // Sends the premium visual packets; null if ProtocolLib is not available
+    private final PacketBatcher packetBatcher;
+    // Patches the premium visuals into outgoing metadata; null if ProtocolLib is not available
+    private final PacketAdapter metadataListener;
+    // Visual flags (FLAG_GLOWING, FLAG_LONG_RANGE) per ArmorStand entity ID; read from network threads
+    private final Map<Integer, Byte> visualFlags;
+
+    public ArmorStandDisplayBackend(VortexChestShop plugin) {
+        boolean protocolLibAvailable = Bukkit.getPluginManager().getPlugin("ProtocolLib") != null &&
+                                       Bukkit.getPluginManager().getPlugin("ProtocolLib").isEnabled();
+        this.visualFlags = new ConcurrentHashMap<>();
+        if (protocolLibAvailable) {
+            this.packetBatcher = new PacketBatcher(plugin);
+            this.metadataListener = new PacketAdapter(plugin, ListenerPriority.NORMAL, PacketType.Play.Server.ENTITY_METADATA) {
+                @Override
+                public void onPacketSending(PacketEvent event) {
+                    patchMetadata(event);
+                }
+            };
+            ProtocolLibrary.getProtocolManager().addPacketListener(metadataListener);
+        } else {
+            this.packetBatcher = null;
+            this.metadataListener = null;
+        }
+    }
+
+    @Override
+    public FloatingDisplay spawn(ChestShop shop, Location location) {
+        // Displays are only created for shops in loaded chunks, so spawning never loads a chunk
+        // Spawn a temporary ArmorStand for the item display
+        ArmorStand armorStand = (ArmorStand) location.getWorld().spawnEntity(location, EntityType.ARMOR_STAND);
+        armorStand.setGravity(false); // Make it float in the air
+        armorStand.setBasePlate(false); // No base plate visible
+        armorStand.setArms(false); // No arms visible
+        armorStand.setVisible(false); // Make the armor stand itself invisible
+        armorStand.setSmall(true); // Make it small (optional, can be false for larger items)
+        armorStand.setMarker(true); // Prevents interaction and collision with players/entities
+        armorStand.setCanPickupItems(false); // Prevents picking up items
+        armorStand.setPersistent(false); // Do not save with chunk, will be removed on plugin disable
+
+        // Set the item the armor stand is holding in its helmet slot
+        armorStand.getEquipment().setHelmet(shop.getSoldItem().clone());
+        return new ArmorStandDisplay(armorStand);
+    }
+
+    @Override
+    public String getName() {
+        return "ArmorStand";
+    }
+
+    @Override
+    public void shutdown() {
+        // The ArmorStands are removed with their displays; only queued packets and the listener remain
+        if (packetBatcher != null) {
+            packetBatcher.shutdown();
+        }
+        if (metadataListener != null) {
+            ProtocolLibrary.getProtocolManager().removePacketListener(metadataListener);
+        }
+        visualFlags.clear();
+    }
+
+    /**
+     * Applies the premium visuals of an ArmorStand to metadata the server sends for it. Only packets carrying the
+     * entity flags are patched: the full metadata sent when a player starts tracking the ArmorStand always does,
+     * since the ArmorStand is invisible, while its frequent head pose updates do not.
+     */
+    private void patchMetadata(PacketEvent event) {
+        PacketContainer packet = event.getPacket();
+        Byte flags = visualFlags.get(packet.getIntegers().read(0));
+        if (flags == null) {
+            return;
+        }
+        List<WrappedDataValue> values = packet.getDataValueCollectionModifier().read(0);
+        if (values == null) {
+            return;
+        }
+        Byte entityFlags = null;
+        List<WrappedDataValue> patched = new ArrayList<>(values.size() + 2);
+        for (WrappedDataValue value : values) {
+            if (value.getIndex() == 0 && value.getValue() instanceof Byte) {
+                entityFlags = (Byte) value.getValue();
+            } else if (value.getIndex() != 2 && value.getIndex() != 3) {
+                patched.add(value);
+            }
+        }
+        if (entityFlags == null) {
+            return;
+        }
+        patched.addAll(createVisualValues(entityFlags, (flags & FLAG_GLOWING) != 0, (flags & FLAG_LONG_RANGE) != 0));
+        // The server may send the same packet to several players; patch a copy
+        PacketContainer copy = packet.shallowClone();
+        copy.getDataValueCollectionModifier().write(0, patched);
+        event.setPacket(copy);
+    }
+
+    /**
+     * Builds the metadata values for the premium visuals.
+     * @param entityFlags The entity's current flags byte (metadata index 0).
+     */
+    private static List<WrappedDataValue> createVisualValues(byte entityFlags, boolean glowing, boolean longRange) {
+        List<WrappedDataValue> values = new ArrayList<>(3);
+
+        // --- Glowing Outline (Entity Flags - Byte 0, Bit 6) ---
+        // The first byte (index 0) in the data watcher contains a bitmask for various entity flags.
+        // Bit 6 (value 0x40 or 64) controls the glowing effect.
+        if (glowing) {
+            entityFlags = (byte) (entityFlags | (1 << 6)); // Set bit 6 to enable glowing
+        } else {
+            entityFlags = (byte) (entityFlags & ~(1 << 6)); // Unset bit 6 to disable glowing
+        }
+        values.add(new WrappedDataValue(0, WrappedDataWatcher.Registry.get(Byte.class), entityFlags));
+
+        // --- Long-Range Visibility (Custom Name & Custom Name Visible - Index 2 & 3) ---
+        // A common trick to extend render distance for entities is to give them a custom name
+        // and make that name visible, even if the name is empty. Minecraft's client often
+        // renders entities with visible names from further away.
+        WrappedDataWatcher.Serializer nameSerializer = WrappedDataWatcher.Registry.getChatComponentSerializer(true);
+        if (longRange) {
+            // Set custom name (empty string, but present) and make it visible
+            values.add(new WrappedDataValue(2, nameSerializer, Optional.of(WrappedChatComponent.fromText("").getHandle())));
+            values.add(new WrappedDataValue(3, WrappedDataWatcher.Registry.get(Boolean.class), true));
+        } else {
+            // Remove custom name and make it not visible
+            values.add(new WrappedDataValue(2, nameSerializer, Optional.empty()));
+            values.add(new WrappedDataValue(3, WrappedDataWatcher.Registry.get(Boolean.class), false));
+        }
+        return values;
+    }
+
+    private class ArmorStandDisplay implements FloatingDisplay {
+
+        private final ArmorStand armorStand;
+        // Cached premium visuals packet and the flags it was built for
+        private PacketContainer visualsPacket;
+        private boolean visualsGlowing;
+        private boolean visualsLongRange;
+        // Trackers that already received the cached packet
+        private final Set<Player> visualsSentTo = new HashSet<>();
+
+        private ArmorStandDisplay(ArmorStand armorStand) {
+            this.armorStand = armorStand;
+        }
+
+        @Override
+        public Location getLocation() {
+            return armorStand.getLocation();
+        }
+
+        @Override
+        public boolean isValid() {
+            return armorStand.isValid();
+        }
+
+        @Override
+        public void setItem(ItemStack item) {
+            // Update the item if it has changed
+            ItemStack currentHelmet = armorStand.getEquipment().getHelmet();
+            if (currentHelmet == null || !currentHelmet.isSimilar(item)) {
+                armorStand.getEquipment().setHelmet(item.clone());
+            }
+        }
+
+        @Override
+        public void rotate(double radians) {
+            // Rotate the item around its Y-axis
+            EulerAngle currentHeadPose = armorStand.getHeadPose();
+            armorStand.setHeadPose(currentHeadPose.setY(currentHeadPose.getY() + radians));
+        }
+
+        @Override
+        public void setVisualFlags(boolean glowing, boolean longRange) {
+            if (packetBatcher == null) {
+                return; // Cannot apply advanced visuals without ProtocolLib
+            }
+            // The packet only depends on the flags; rebuild it when they change
+            if (visualsPacket == null || glowing != visualsGlowing || longRange != visualsLongRange) {
+                try {
+                    visualsPacket = createVisualsPacket(glowing, longRange);
+                    visualsGlowing = glowing;
+                    visualsLongRange = longRange;
+                    visualsSentTo.clear();
+                    byte flags = (byte) ((glowing ? FLAG_GLOWING : 0) | (longRange ? FLAG_LONG_RANGE : 0));
+                    if (flags != 0) {
+                        visualFlags.put(armorStand.getEntityId(), flags);
+                    } else {
+                        visualFlags.remove(armorStand.getEntityId());
+                    }
+                } catch (Exception e) {
+                    Logger.severe("Failed to apply premium visual effects using ProtocolLib for display " + armorStand.getEntityId() + ": " + e.getMessage());
+                    e.printStackTrace();
+                    return;
+                }
+            }
+            // Only players tracking the ArmorStand have it spawned on their client; skip those already up to date.
+            // Players who start tracking it later get the flags with the spawn metadata (see patchMetadata).
+            List<Player> trackers = ProtocolLibrary.getProtocolManager().getEntityTrackers(armorStand);
+            visualsSentTo.retainAll(trackers);
+            for (Player tracker : trackers) {
+                if (visualsSentTo.add(tracker)) {
+                    packetBatcher.queue(tracker, visualsPacket);
+                }
+            }
+        }
+
+        private PacketContainer createVisualsPacket(boolean glowing, boolean longRange) {
+            // Create a packet to modify entity metadata
+            PacketContainer packet = ProtocolLibrary.getProtocolManager().createPacket(PacketType.Play.Server.ENTITY_METADATA);
+            packet.getIntegers().write(0, armorStand.getEntityId()); // Set the entity ID
+
+            // Get the current entity flags from the ArmorStand's data watcher
+            byte entityFlags = new WrappedDataWatcher(armorStand).getByte(0);
+            packet.getDataValueCollectionModifier().write(0, createVisualValues(entityFlags, glowing, longRange));
+            return packet;
+        }
+
+        @Override
+        public void remove() {
+            visualFlags.remove(armorStand.getEntityId());
+            armorStand.remove(); // Remove the ArmorStand entity from the world
+        }
+    }
+}
@@ -0,0 +1,125 @@
+// src/main/java/com/vortex/vortexchestshop/display/ChunkViewerCounter.java
+
+package com.vortex.vortexchestshop.display;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.utils.BlockKey;
+import com.vortex.vortexchestshop.utils.LongObjectMap;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts, for every chunk, how many players are close enough to see a display in it.
+ * <p>
+ * Each player adds one to every chunk within the cull radius around the chunk they stand in. The counts are only
+ * updated when a player enters a new chunk or world, teleports, respawns, joins or quits (see
+ * {@link PlayerChunkTracker}), so checking whether a display has any viewers in range is a single map lookup.
+ * Displays in chunks with a count of zero can skip their animation.
+ * <p>
+ * All methods must be called from the main thread.
+ */
+public class ChunkViewerCounter extends PlayerChunkTracker {
+
+    // World name -> chunk key -> number of players in range ({count} arrays so counts update in place)
+    private final Map<String, LongObjectMap<int[]>> viewerCounts;
+    private int radius; // In chunks
+
+    /**
+     * @param plugin The plugin, used to register the counter's listeners.
+     * @param distance The distance in blocks within which a player counts as a viewer.
+     */
+    public ChunkViewerCounter(VortexChestShop plugin, int distance) {
+        super(plugin);
+        this.viewerCounts = new HashMap<>();
+        this.radius = toChunkRadius(distance);
+        start();
+    }
+
+    /**
+     * Changes the viewer distance and recounts every tracked player.
+     * @param distance The distance in blocks within which a player counts as a viewer.
+     */
+    public void setDistance(int distance) {
+        int newRadius = toChunkRadius(distance);
+        if (newRadius == radius) {
+            return;
+        }
+        radius = newRadius;
+        viewerCounts.clear();
+        for (ChunkPosition position : getPositions()) {
+            adjust(position, 1);
+        }
+    }
+
+    /**
+     * Checks whether any player is close enough to see a display at a location.
+     * @param location The display's location.
+     * @return true if at least one player is in range.
+     */
+    public boolean hasViewers(Location location) {
+        return hasViewers(location.getWorld().getName(), BlockKey.packChunk(location.getBlockX() >> 4, location.getBlockZ() >> 4));
+    }
+
+    /**
+     * Checks whether any player is close enough to see a display in a chunk.
+     * @param worldName The chunk's world.
+     * @param chunkKey The chunk's key, see {@link BlockKey#packChunk(int, int)}.
+     * @return true if at least one player is in range.
+     */
+    public boolean hasViewers(String worldName, long chunkKey) {
+        LongObjectMap<int[]> worldCounts = viewerCounts.get(worldName);
+        return worldCounts != null && worldCounts.get(chunkKey) != null;
+    }
+
+    /**
+     * Unregisters the counter's listeners and drops all counts.
+     */
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        viewerCounts.clear();
+    }
+
+    /**
+     * Moves a player's counts to the chunk they entered.
+     */
+    @Override
+    protected void enterChunk(Player player, ChunkPosition previous, ChunkPosition current) {
+        if (previous != null) {
+            adjust(previous, -1);
+        }
+        adjust(current, 1);
+    }
+
+    @Override
+    protected void leave(Player player, ChunkPosition position) {
+        adjust(position, -1);
+    }
+
+    /**
+     * Adds a delta to the count of every chunk within the radius around a position.
+     * Chunks whose count drops to zero are removed, so a present entry always means at least one viewer.
+     */
+    private void adjust(ChunkPosition position, int delta) {
+        LongObjectMap<int[]> worldCounts = viewerCounts.computeIfAbsent(position.worldName, name -> new LongObjectMap<>());
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                if (!inRange(dx, dz, radius)) {
+                    continue;
+                }
+                long chunkKey = BlockKey.packChunk(position.chunkX + dx, position.chunkZ + dz);
+                int[] count = worldCounts.get(chunkKey);
+                if (count == null) {
+                    if (delta > 0) {
+                        worldCounts.put(chunkKey, new int[] {delta});
+                    }
+                } else if ((count[0] += delta) <= 0) {
+                    worldCounts.remove(chunkKey);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+// src/main/java/com/vortex/vortexchestshop/display/DecentHologramsBackend.java
+
+package com.vortex.vortexchestshop.display;
+
+import com.vortex.vortexchestshop.models.ChestShop;
+import eu.decentsoftware.holograms.api.DHAPI; // DecentHolograms API main class
+import eu.decentsoftware.holograms.api.holograms.Hologram; // DecentHolograms Hologram class
+import org.bukkit.Location;
+
+import java.util.List;
+
+/**
+ * Shows hologram text with DecentHolograms (requires the DecentHolograms plugin).
+ * Each shop gets a named, non-persistent DecentHolograms hologram.
+ */
+public class DecentHologramsBackend implements HologramBackend {
+
+    @Override
+    public ShopHologram create(ChestShop shop, Location location, List<String> lines) {
+        String hologramName = "VCS_Shop_" + shop.getId().toString(); // Unique name for the hologram
+        Hologram hologram = DHAPI.createHologram(hologramName, location);
+        DHAPI.setHologramLines(hologram, lines); // Set all lines at once
+        return new DecentHologram(hologram);
+    }
+
+    @Override
+    public String getName() {
+        return "DecentHolograms";
+    }
+
+    @Override
+    public void shutdown() {
+        // DecentHolograms owns its holograms' update tasks; nothing to release
+    }
+
+    private static class DecentHologram implements ShopHologram {
+
+        private final Hologram hologram;
+
+        private DecentHologram(Hologram hologram) {
+            this.hologram = hologram;
+        }
+
+        @Override
+        public void setLines(List<String> lines) {
+            DHAPI.setHologramLines(hologram, lines);
+        }
+
+        @Override
+        public void remove() {
+            DHAPI.removeHologram(hologram.getName()); // Remove by name
+        }
+    }
+}
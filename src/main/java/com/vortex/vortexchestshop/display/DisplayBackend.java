@@ -0,0 +1,30 @@
+// src/main/java/com/vortex/vortexchestshop/display/DisplayBackend.java
+
+package com.vortex.vortexchestshop.display;
+
+import com.vortex.vortexchestshop.models.ChestShop;
+import org.bukkit.Location;
+
+/**
+ * Creates the floating item displays of shops. Selected by floating-display.backend.
+ */
+public interface DisplayBackend {
+
+    /**
+     * Creates a display for a shop. Only called while the shop's chunk is loaded.
+     * @param shop The shop to create the display for.
+     * @param location The location of the floating item.
+     * @return The created display.
+     */
+    FloatingDisplay spawn(ChestShop shop, Location location);
+
+    /**
+     * @return The backend's name, for logging.
+     */
+    String getName();
+
+    /**
+     * Releases any resources held by the backend (listeners, tasks). Displays must be removed beforehand.
+     */
+    void shutdown();
+}
@@ -0,0 +1,47 @@
+// src/main/java/com/vortex/vortexchestshop/display/FloatingDisplay.java
+
+package com.vortex.vortexchestshop.display;
+
+import org.bukkit.Location;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * A floating item shown above a shop chest, created by a {@link DisplayBackend}.
+ * All methods must be called from the main thread.
+ */
+public interface FloatingDisplay {
+
+    /**
+     * @return The location of the floating item.
+     */
+    Location getLocation();
+
+    /**
+     * @return false once the display has been removed or its underlying entity is gone.
+     */
+    boolean isValid();
+
+    /**
+     * Changes the displayed item.
+     * @param item The item to display.
+     */
+    void setItem(ItemStack item);
+
+    /**
+     * Rotates the item around its vertical axis.
+     * @param radians The angle to add to the current rotation.
+     */
+    void rotate(double radians);
+
+    /**
+     * Applies the premium visual flags.
+     * @param glowing Whether the item has a glowing outline.
+     * @param longRange Whether the item should stay visible from further away.
+     */
+    void setVisualFlags(boolean glowing, boolean longRange);
+
+    /**
+     * Removes the display for every player.
+     */
+    void remove();
+}
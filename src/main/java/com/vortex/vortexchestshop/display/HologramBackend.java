@@ -0,0 +1,33 @@
+// src/main/java/com/vortex/vortexchestshop/display/HologramBackend.java
+
+package com.vortex.vortexchestshop.display;
+
+import com.vortex.vortexchestshop.models.ChestShop;
+import org.bukkit.Location;
+
+import java.util.List;
+
+/**
+ * Creates the hologram text of shops. Selected by hologram-text.backend.
+ */
+public interface HologramBackend {
+
+    /**
+     * Creates a hologram for a shop. Only called while the shop's chunk is loaded.
+     * @param shop The shop to create the hologram for.
+     * @param location The location of the hologram's top line.
+     * @param lines The lines to show, with '&' color codes.
+     * @return The created hologram.
+     */
+    ShopHologram create(ChestShop shop, Location location, List<String> lines);
+
+    /**
+     * @return The backend's name, for logging.
+     */
+    String getName();
+
+    /**
+     * Releases any resources held by the backend (listeners, tasks). Holograms must be removed beforehand.
+     */
+    void shutdown();
+}
@@ -0,0 +1,143 @@
+// src/main/java/com/vortex/vortexchestshop/display/ItemDisplayBackend.java
+
+package com.vortex.vortexchestshop.display;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.config.Settings;
+import com.vortex.vortexchestshop.models.ChestShop;
+import org.bukkit.Location;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Transformation;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * Displays items on ItemDisplay entities (Minecraft 1.19.4+).
+ * <p>
+ * Rotation is interpolated by the client: instead of sending a new head pose every tick, a display sends one
+ * transformation per rotation segment (floating-display.item-display-rotation-interval ticks) and the client
+ * spins the item smoothly towards it. Each segment is kept below half a turn, because the client interpolates
+ * rotations along the shortest path.
+ */
+public class ItemDisplayBackend implements DisplayBackend {
+
+    // Largest rotation per segment; the client would spin backwards past half a turn
+    private static final double MAX_SEGMENT_RADIANS = Math.PI * 0.75;
+    private static final double FULL_TURN = Math.PI * 2;
+    // Matches the size and height of the item on a small ArmorStand's head
+    private static final Vector3f ITEM_OFFSET = new Vector3f(0f, 0.65f, 0f);
+    private static final Vector3f ITEM_SCALE = new Vector3f(0.5f, 0.5f, 0.5f);
+
+    // Settings are read from the plugin whenever they are used, so a config reload applies to existing displays
+    private final VortexChestShop plugin;
+
+    public ItemDisplayBackend(VortexChestShop plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * @return true if the server supports ItemDisplay entities.
+     */
+    public static boolean isSupported() {
+        try {
+            Class.forName("org.bukkit.entity.ItemDisplay");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public FloatingDisplay spawn(ChestShop shop, Location location) {
+        ItemStack item = shop.getSoldItem().clone();
+        ItemDisplay itemDisplay = location.getWorld().spawn(location, ItemDisplay.class, entity -> {
+            entity.setItemStack(item);
+            entity.setItemDisplayTransform(ItemDisplay.ItemDisplayTransform.FIXED);
+            entity.setBillboard(Display.Billboard.FIXED);
+            entity.setTransformation(createTransformation(0));
+            entity.setPersistent(false); // Do not save with chunk, will be removed on plugin disable
+        });
+        return new ItemDisplayEntity(itemDisplay);
+    }
+
+    @Override
+    public String getName() {
+        return "ItemDisplay";
+    }
+
+    @Override
+    public void shutdown() {
+        // Nothing to release; the entities are removed with their displays
+    }
+
+    private static Transformation createTransformation(double yaw) {
+        return new Transformation(ITEM_OFFSET, new Quaternionf().rotationY((float) yaw), ITEM_SCALE, new Quaternionf());
+    }
+
+    private class ItemDisplayEntity implements FloatingDisplay {
+
+        private final ItemDisplay itemDisplay;
+        private double targetYaw; // Rotation the client is interpolating towards, in radians
+        private int callsUntilNextSegment; // rotate() calls left before the next transformation is sent
+
+        private ItemDisplayEntity(ItemDisplay itemDisplay) {
+            this.itemDisplay = itemDisplay;
+        }
+
+        @Override
+        public Location getLocation() {
+            return itemDisplay.getLocation();
+        }
+
+        @Override
+        public boolean isValid() {
+            return itemDisplay.isValid();
+        }
+
+        @Override
+        public void setItem(ItemStack item) {
+            ItemStack current = itemDisplay.getItemStack();
+            if (current == null || !current.isSimilar(item)) {
+                itemDisplay.setItemStack(item.clone());
+            }
+        }
+
+        @Override
+        public void rotate(double radians) {
+            if (callsUntilNextSegment-- > 0) {
+                return; // The client is still interpolating the current segment
+            }
+            // Start the next segment: rotate as far as the item turns in one interval, capped below half a turn
+            Settings settings = plugin.getSettings();
+            int tickRate = settings.floatingItemTickRate();
+            int calls = Math.max(1, settings.itemDisplayRotationInterval() / tickRate);
+            if (radians != 0) {
+                calls = Math.max(1, Math.min(calls, (int) (MAX_SEGMENT_RADIANS / Math.abs(radians))));
+            }
+            targetYaw = (targetYaw + radians * calls) % FULL_TURN;
+            itemDisplay.setInterpolationDelay(0); // Start interpolating as soon as the client receives it
+            itemDisplay.setInterpolationDuration(calls * tickRate);
+            itemDisplay.setTransformation(createTransformation(targetYaw));
+            callsUntilNextSegment = calls - 1;
+        }
+
+        @Override
+        public void setVisualFlags(boolean glowing, boolean longRange) {
+            if (itemDisplay.isGlowing() != glowing) {
+                itemDisplay.setGlowing(glowing);
+            }
+            // A view range of 1.0 shows the entity up to roughly 64 blocks away
+            float viewRange = longRange ? Math.max(1f, plugin.getSettings().longRangeDistance() / 64f) : 1f;
+            if (itemDisplay.getViewRange() != viewRange) {
+                itemDisplay.setViewRange(viewRange);
+            }
+        }
+
+        @Override
+        public void remove() {
+            itemDisplay.remove();
+        }
+    }
+}
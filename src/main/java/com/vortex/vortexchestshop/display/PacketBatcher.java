@@ -0,0 +1,118 @@
+// src/main/java/com/vortex/vortexchestshop/display/PacketBatcher.java
+
+package com.vortex.vortexchestshop.display;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.events.PacketContainer;
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.utils.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects display packets per player and sends them once per tick (requires ProtocolLib).
+ * <p>
+ * On 1.19.4+ the packets queued for a player during a tick are wrapped in a single bundle packet, which the
+ * client applies all at once; on older versions they are sent one by one. Packets for the same player are
+ * always sent in the order they were queued.
+ * <p>
+ * All methods must be called from the main thread.
+ */
+public class PacketBatcher {
+
+    // The client rejects bundles with more packets than this
+    private static final int MAX_BUNDLE_SIZE = 4096;
+
+    private final VortexChestShop plugin;
+    private final ProtocolManager protocolManager;
+    private final boolean bundlesSupported;
+    private final Map<Player, List<PacketContainer>> pending;
+    private BukkitTask flushTask;
+
+    public PacketBatcher(VortexChestShop plugin) {
+        this.plugin = plugin;
+        this.protocolManager = ProtocolLibrary.getProtocolManager();
+        this.bundlesSupported = PacketType.Play.Server.BUNDLE.isSupported();
+        this.pending = new LinkedHashMap<>();
+    }
+
+    /**
+     * Queues a packet for a player. It is sent with the player's other packets on the next tick.
+     * @param player The receiving player.
+     * @param packet The packet to send.
+     */
+    public void queue(Player player, PacketContainer packet) {
+        if (!plugin.isEnabled()) {
+            send(player, packet); // Tasks cannot be scheduled while disabling
+            return;
+        }
+        pending.computeIfAbsent(player, p -> new ArrayList<>(4)).add(packet);
+        if (flushTask == null) {
+            flushTask = Bukkit.getScheduler().runTask(plugin, this::flush);
+        }
+    }
+
+    /**
+     * Queues a packet for several players.
+     * @param players The receiving players.
+     * @param packet The packet to send.
+     */
+    public void queue(Iterable<Player> players, PacketContainer packet) {
+        for (Player player : players) {
+            queue(player, packet);
+        }
+    }
+
+    /**
+     * Sends every queued packet now.
+     */
+    public void flush() {
+        flushTask = null;
+        for (Map.Entry<Player, List<PacketContainer>> entry : pending.entrySet()) {
+            Player player = entry.getKey();
+            if (!player.isOnline()) {
+                continue;
+            }
+            List<PacketContainer> packets = entry.getValue();
+            if (packets.size() == 1 || !bundlesSupported) {
+                for (PacketContainer packet : packets) {
+                    send(player, packet);
+                }
+                continue;
+            }
+            for (int start = 0; start < packets.size(); start += MAX_BUNDLE_SIZE) {
+                PacketContainer bundle = new PacketContainer(PacketType.Play.Server.BUNDLE);
+                bundle.getPacketBundles().write(0, packets.subList(start, Math.min(packets.size(), start + MAX_BUNDLE_SIZE)));
+                send(player, bundle);
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Sends the remaining packets and cancels the pending flush.
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+        flush();
+    }
+
+    private void send(Player player, PacketContainer packet) {
+        try {
+            protocolManager.sendServerPacket(player, packet);
+        } catch (Exception e) {
+            Logger.severe("Failed to send display packet to " + player.getName() + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+// src/main/java/com/vortex/vortexchestshop/display/PacketDisplayBackend.java
+
+package com.vortex.vortexchestshop.display;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.EnumWrappers;
+import com.comphenix.protocol.wrappers.Pair;
+import com.comphenix.protocol.wrappers.Vector3F;
+import com.comphenix.protocol.wrappers.WrappedDataValue;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.models.ChestShop;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Displays items on virtual ArmorStands that exist only as packets (requires ProtocolLib).
+ * <p>
+ * No server-side entity is created, so displays are not ticked by the server, do not count towards entity
+ * limits and are never saved with chunks. A {@link ViewerTracker} decides which players are in view range of
+ * each display; spawn, metadata, equipment and destroy packets are only sent to those players. Packets go through
+ * a {@link PacketBatcher}, so each player receives one bundle per tick for all displays.
+ */
+public class PacketDisplayBackend implements DisplayBackend {
+
+    // Entity metadata indices (1.19.3+)
+    private static final int META_ENTITY_FLAGS = 0;
+    private static final int META_NO_GRAVITY = 5;
+    private static final int META_ARMOR_STAND_FLAGS = 15;
+    private static final int META_HEAD_POSE = 16;
+
+    private static final byte FLAG_INVISIBLE = 0x20;
+    private static final byte FLAG_GLOWING = 0x40;
+    // Small, no base plate, marker
+    private static final byte ARMOR_STAND_FLAGS = 0x01 | 0x08 | 0x10;
+
+    private final ProtocolManager protocolManager;
+    private final ViewerTracker viewerTracker;
+    private final PacketBatcher packetBatcher;
+    // Virtual entities count down from the top of the ID range, far away from the server's own entity IDs
+    private int nextEntityId = Integer.MAX_VALUE;
+
+    public PacketDisplayBackend(VortexChestShop plugin) {
+        this.protocolManager = ProtocolLibrary.getProtocolManager();
+        this.packetBatcher = new PacketBatcher(plugin);
+        this.viewerTracker = new ViewerTracker(plugin,
+                plugin.getSettings().packetViewDistance(),
+                plugin.getSettings().longRangeDistance());
+    }
+
+    @Override
+    public FloatingDisplay spawn(ChestShop shop, Location location) {
+        PacketDisplay display = new PacketDisplay(nextEntityId--, location.clone(), shop.getSoldItem().clone());
+        viewerTracker.register(display);
+        return display;
+    }
+
+    @Override
+    public String getName() {
+        return "Packet";
+    }
+
+    @Override
+    public void shutdown() {
+        viewerTracker.shutdown();
+        packetBatcher.shutdown();
+    }
+
+    /**
+     * A virtual ArmorStand holding an item in its helmet slot. Only players in {@code viewers} have it spawned.
+     */
+    private class PacketDisplay implements FloatingDisplay, ViewerTracker.Viewable {
+
+        private final int entityId;
+        private final UUID entityUUID;
+        private final Location location;
+        private final Set<Player> viewers;
+        private ItemStack item;
+        private double headYaw; // In radians
+        private boolean glowing;
+        private boolean longRange;
+        private boolean removed;
+
+        private PacketDisplay(int entityId, Location location, ItemStack item) {
+            this.entityId = entityId;
+            this.entityUUID = UUID.randomUUID();
+            this.location = location;
+            this.item = item;
+            this.viewers = new HashSet<>();
+        }
+
+        @Override
+        public Location getLocation() {
+            return location;
+        }
+
+        @Override
+        public boolean isValid() {
+            return !removed;
+        }
+
+        @Override
+        public void setItem(ItemStack item) {
+            if (this.item.isSimilar(item)) {
+                return;
+            }
+            this.item = item.clone();
+            sendToViewers(createEquipmentPacket());
+        }
+
+        @Override
+        public void rotate(double radians) {
+            headYaw += radians;
+            if (!viewers.isEmpty()) {
+                sendToViewers(createMetadataPacket(Collections.singletonList(headPoseValue())));
+            }
+        }
+
+        @Override
+        public void setVisualFlags(boolean glowing, boolean longRange) {
+            boolean glowingChanged = this.glowing != glowing;
+            boolean rangeChanged = this.longRange != longRange;
+            this.glowing = glowing;
+            this.longRange = longRange;
+            if (glowingChanged) {
+                sendToViewers(createMetadataPacket(Collections.singletonList(entityFlagsValue())));
+            }
+            if (rangeChanged) {
+                viewerTracker.refreshViewers(this);
+            }
+        }
+
+        @Override
+        public void remove() {
+            if (removed) {
+                return;
+            }
+            removed = true;
+            viewerTracker.unregister(this);
+            PacketContainer destroy = createDestroyPacket(Collections.singletonList(entityId));
+            sendToViewers(destroy);
+            viewers.clear();
+        }
+
+        @Override
+        public boolean isLongRange() {
+            return longRange;
+        }
+
+        @Override
+        public Collection<Player> getViewers() {
+            return viewers;
+        }
+
+        @Override
+        public void show(Player player) {
+            if (removed || !viewers.add(player)) {
+                return;
+            }
+            send(player, createSpawnPacket());
+            List<WrappedDataValue> values = new ArrayList<>(4);
+            values.add(entityFlagsValue());
+            values.add(new WrappedDataValue(META_NO_GRAVITY, WrappedDataWatcher.Registry.get(Boolean.class), true));
+            values.add(new WrappedDataValue(META_ARMOR_STAND_FLAGS, WrappedDataWatcher.Registry.get(Byte.class), ARMOR_STAND_FLAGS));
+            values.add(headPoseValue());
+            send(player, createMetadataPacket(values));
+            send(player, createEquipmentPacket());
+        }
+
+        @Override
+        public void hide(Player player) {
+            if (viewers.remove(player)) {
+                send(player, createDestroyPacket(Collections.singletonList(entityId)));
+            }
+        }
+
+        @Override
+        public void forget(Player player) {
+            viewers.remove(player);
+        }
+
+        private PacketContainer createSpawnPacket() {
+            PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY);
+            packet.getIntegers().write(0, entityId);
+            packet.getUUIDs().write(0, entityUUID);
+            packet.getEntityTypeModifier().write(0, EntityType.ARMOR_STAND);
+            packet.getDoubles()
+                    .write(0, location.getX())
+                    .write(1, location.getY())
+                    .write(2, location.getZ());
+            return packet;
+        }
+
+        private PacketContainer createMetadataPacket(List<WrappedDataValue> values) {
+            PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
+            packet.getIntegers().write(0, entityId);
+            packet.getDataValueCollectionModifier().write(0, values);
+            return packet;
+        }
+
+        private PacketContainer createEquipmentPacket() {
+            PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_EQUIPMENT);
+            packet.getIntegers().write(0, entityId);
+            packet.getSlotStackPairLists().write(0, Collections.singletonList(new Pair<>(EnumWrappers.ItemSlot.HEAD, item)));
+            return packet;
+        }
+
+        private WrappedDataValue entityFlagsValue() {
+            byte flags = glowing ? (byte) (FLAG_INVISIBLE | FLAG_GLOWING) : FLAG_INVISIBLE;
+            return new WrappedDataValue(META_ENTITY_FLAGS, WrappedDataWatcher.Registry.get(Byte.class), flags);
+        }
+
+        private WrappedDataValue headPoseValue() {
+            // The protocol sends rotations in degrees
+            Vector3F pose = new Vector3F(0, (float) Math.toDegrees(headYaw), 0);
+            return WrappedDataValue.fromWrappedValue(META_HEAD_POSE, WrappedDataWatcher.Registry.getVectorSerializer(), pose);
+        }
+
+        private void sendToViewers(PacketContainer packet) {
+            packetBatcher.queue(viewers, packet);
+        }
+    }
+
+    private PacketContainer createDestroyPacket(List<Integer> entityIds) {
+        PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
+        packet.getIntLists().write(0, entityIds);
+        return packet;
+    }
+
+    private void send(Player player, PacketContainer packet) {
+        packetBatcher.queue(player, packet);
+    }
+}
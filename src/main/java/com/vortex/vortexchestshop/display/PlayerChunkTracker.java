@@ -0,0 +1,205 @@
+// src/main/java/com/vortex/vortexchestshop/display/PlayerChunkTracker.java
+
+package com.vortex.vortexchestshop.display;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Base for bookkeeping that depends on which chunk each online player is in.
+ * <p>
+ * Keeps the chunk of every player and calls {@link #enterChunk} when a player enters a new chunk, teleports, joins,
+ * or arrives after a world change or respawn, and {@link #leave} when their position stops counting (world change,
+ * respawn, quit). Moves within a chunk cost a single comparison. World changes and respawns are handled as a leave
+ * followed by an enter on the next tick, once the client has received the world it is in.
+ * <p>
+ * Subclasses call {@link #start()} at the end of their constructor. All methods must be called from the main thread.
+ */
+public abstract class PlayerChunkTracker implements Listener {
+
+    /**
+     * The chunk a player is tracked at.
+     */
+    protected static final class ChunkPosition {
+        protected final String worldName;
+        protected final int chunkX;
+        protected final int chunkZ;
+
+        private ChunkPosition(String worldName, int chunkX, int chunkZ) {
+            this.worldName = worldName;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        private boolean isAt(String worldName, int chunkX, int chunkZ) {
+            return this.chunkX == chunkX && this.chunkZ == chunkZ && this.worldName.equals(worldName);
+        }
+    }
+
+    private final VortexChestShop plugin;
+    private final Map<UUID, ChunkPosition> positions;
+
+    protected PlayerChunkTracker(VortexChestShop plugin) {
+        this.plugin = plugin;
+        this.positions = new HashMap<>();
+    }
+
+    /**
+     * Called when a player enters a new chunk or starts being tracked.
+     * @param player The player.
+     * @param previous The chunk the player was tracked at before, or null if they were not tracked.
+     * @param current The chunk the player is in now.
+     */
+    protected abstract void enterChunk(Player player, ChunkPosition previous, ChunkPosition current);
+
+    /**
+     * Called when a player stops being tracked: on a world change, respawn or quit, and on shutdown.
+     * @param player The player.
+     * @param position The chunk the player was tracked at.
+     */
+    protected abstract void leave(Player player, ChunkPosition position);
+
+    /**
+     * Registers the listeners and tracks every online player.
+     */
+    protected void start() {
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            update(player, player.getLocation());
+        }
+    }
+
+    /**
+     * Unregisters the listeners and stops tracking every player.
+     */
+    public void shutdown() {
+        HandlerList.unregisterAll(this);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            remove(player);
+        }
+        positions.clear();
+    }
+
+    /**
+     * @param player The player.
+     * @return The chunk the player is tracked at, or null if they are not tracked.
+     */
+    protected ChunkPosition getPosition(Player player) {
+        return positions.get(player.getUniqueId());
+    }
+
+    /**
+     * @return The chunks of every tracked player.
+     */
+    protected Collection<ChunkPosition> getPositions() {
+        return new ArrayList<>(positions.values());
+    }
+
+    /**
+     * @return true if a chunk offset lies within a circular radius (in chunks).
+     */
+    protected static boolean inRange(int dx, int dz, int radius) {
+        return dx * dx + dz * dz <= radius * radius;
+    }
+
+    /**
+     * @param distance A distance in blocks.
+     * @return The distance in chunks, rounded up and at least one.
+     */
+    protected static int toChunkRadius(int distance) {
+        return Math.max(1, (distance + 15) / 16);
+    }
+
+    /**
+     * Tracks a player at the chunk of a location, if they are not already tracked there.
+     */
+    private void update(Player player, Location location) {
+        String worldName = location.getWorld().getName();
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+        ChunkPosition previous = positions.get(player.getUniqueId());
+        if (previous != null && previous.isAt(worldName, chunkX, chunkZ)) {
+            return; // Still in the same chunk
+        }
+        ChunkPosition current = new ChunkPosition(worldName, chunkX, chunkZ);
+        positions.put(player.getUniqueId(), current);
+        enterChunk(player, previous, current);
+    }
+
+    private void remove(Player player) {
+        ChunkPosition previous = positions.remove(player.getUniqueId());
+        if (previous != null) {
+            leave(player, previous);
+        }
+    }
+
+    /**
+     * Tracks a player on the next tick, once the client has received the world it is in.
+     */
+    private void updateLater(Player player) {
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (player.isOnline()) {
+                update(player, player.getLocation());
+            }
+        });
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        // Only update when the player crosses a chunk border
+        if (to == null || (from.getBlockX() >> 4 == to.getBlockX() >> 4 && from.getBlockZ() >> 4 == to.getBlockZ() >> 4)) {
+            return;
+        }
+        update(event.getPlayer(), to);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        if (event.getTo() == null || event.getTo().getWorld() != event.getFrom().getWorld()) {
+            return; // World changes are handled by PlayerChangedWorldEvent
+        }
+        update(event.getPlayer(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        remove(event.getPlayer());
+        updateLater(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        remove(event.getPlayer());
+        updateLater(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        updateLater(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        remove(event.getPlayer());
+    }
+}
@@ -0,0 +1,23 @@
+// src/main/java/com/vortex/vortexchestshop/display/ShopHologram.java
+
+package com.vortex.vortexchestshop.display;
+
+import java.util.List;
+
+/**
+ * The hologram text shown at a shop, created by a {@link HologramBackend}.
+ * All methods must be called from the main thread.
+ */
+public interface ShopHologram {
+
+    /**
+     * Replaces the hologram's lines.
+     * @param lines The lines to show, with '&' color codes.
+     */
+    void setLines(List<String> lines);
+
+    /**
+     * Removes the hologram for every player.
+     */
+    void remove();
+}
@@ -0,0 +1,262 @@
+// src/main/java/com/vortex/vortexchestshop/display/TextDisplayHologramBackend.java
+
+package com.vortex.vortexchestshop.display;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.WrappedChatComponent;
+import com.comphenix.protocol.wrappers.WrappedDataValue;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.models.ChestShop;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.chat.ComponentSerializer;
+import org.bukkit.ChatColor;
+import org.bukkit.Location;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Shows hologram text on virtual TextDisplay entities that exist only as packets
+ * (requires ProtocolLib and Minecraft 1.19.4+).
+ * <p>
+ * All lines of a hologram are one multi-line TextDisplay, so a hologram is a single entity without a server-side
+ * counterpart, registry entry or update task. A {@link ViewerTracker} decides which players are within
+ * hologram-text.view-distance; only they are sent the entity. Changing the text sends a metadata packet with just
+ * the text value to the current viewers, plus a teleport if the number of lines changed, since the text hangs
+ * below the hologram location. Packets go through a {@link PacketBatcher}.
+ */
+public class TextDisplayHologramBackend implements HologramBackend {
+
+    // Metadata indices up to 1.20.1; 1.20.2 inserted the teleport duration before the display fields
+    private static final int META_BILLBOARD = 14;
+    private static final int META_TEXT = 22;
+    private static final int META_BACKGROUND_COLOR = 24;
+
+    private static final byte BILLBOARD_CENTER = 3;
+    private static final int TRANSPARENT = 0;
+    // Height of one line of text at the default scale, used to hang the text below its location like other holograms
+    private static final double LINE_HEIGHT = 0.25;
+
+    private final ProtocolManager protocolManager;
+    private final ViewerTracker viewerTracker;
+    private final PacketBatcher packetBatcher;
+    private final int metaOffset;
+    // Virtual entities count up from the middle of the ID range, away from the server's and the packet displays' IDs
+    private int nextEntityId = Integer.MAX_VALUE / 2;
+
+    public TextDisplayHologramBackend(VortexChestShop plugin) {
+        this.protocolManager = ProtocolLibrary.getProtocolManager();
+        this.packetBatcher = new PacketBatcher(plugin);
+        int viewDistance = plugin.getSettings().hologramViewDistance();
+        this.viewerTracker = new ViewerTracker(plugin, viewDistance, viewDistance);
+        this.metaOffset = hasTeleportDuration() ? 1 : 0;
+    }
+
+    /**
+     * @return true if the server supports TextDisplay entities.
+     */
+    public static boolean isSupported() {
+        try {
+            Class.forName("org.bukkit.entity.TextDisplay");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasTeleportDuration() {
+        try {
+            Display.class.getMethod("getTeleportDuration");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public ShopHologram create(ChestShop shop, Location location, List<String> lines) {
+        TextHologram hologram = new TextHologram(nextEntityId++, location, lines.size(), toComponent(lines));
+        viewerTracker.register(hologram);
+        return hologram;
+    }
+
+    @Override
+    public String getName() {
+        return "TextDisplay";
+    }
+
+    @Override
+    public void shutdown() {
+        viewerTracker.shutdown();
+        packetBatcher.shutdown();
+    }
+
+    /**
+     * Hangs text with a number of lines below its hologram location, like other holograms.
+     */
+    private static Location textLocation(Location anchor, int lineCount) {
+        return anchor.clone().subtract(0, LINE_HEIGHT * lineCount, 0);
+    }
+
+    /**
+     * Joins the lines into one chat component, translating '&' color codes.
+     */
+    private static WrappedChatComponent toComponent(List<String> lines) {
+        TextComponent text = new TextComponent("");
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 0) {
+                text.addExtra("\n");
+            }
+            for (BaseComponent component : TextComponent.fromLegacyText(ChatColor.translateAlternateColorCodes('&', lines.get(i)))) {
+                text.addExtra(component);
+            }
+        }
+        return WrappedChatComponent.fromJson(ComponentSerializer.toString(text));
+    }
+
+    /**
+     * A virtual TextDisplay showing all lines of a hologram. Only players in {@code viewers} have it spawned.
+     */
+    private class TextHologram implements ShopHologram, ViewerTracker.Viewable {
+
+        private final int entityId;
+        private final UUID entityUUID;
+        private final Location anchor; // The hologram location; the text hangs below it
+        private final Set<Player> viewers;
+        private Location location;
+        private int lineCount;
+        private WrappedChatComponent text;
+        private boolean removed;
+
+        private TextHologram(int entityId, Location anchor, int lineCount, WrappedChatComponent text) {
+            this.entityId = entityId;
+            this.entityUUID = UUID.randomUUID();
+            this.anchor = anchor;
+            this.lineCount = lineCount;
+            this.location = textLocation(anchor, lineCount);
+            this.text = text;
+            this.viewers = new HashSet<>();
+        }
+
+        @Override
+        public void setLines(List<String> lines) {
+            text = toComponent(lines);
+            boolean moved = lines.size() != lineCount;
+            if (moved) {
+                // Keep the top line where it was: the text grows or shrinks downwards
+                lineCount = lines.size();
+                location = textLocation(anchor, lineCount);
+            }
+            if (!viewers.isEmpty()) {
+                packetBatcher.queue(viewers, createMetadataPacket(Collections.singletonList(textValue())));
+                if (moved) {
+                    packetBatcher.queue(viewers, createTeleportPacket());
+                }
+            }
+        }
+
+        @Override
+        public void remove() {
+            if (removed) {
+                return;
+            }
+            removed = true;
+            viewerTracker.unregister(this);
+            packetBatcher.queue(viewers, createDestroyPacket());
+            viewers.clear();
+        }
+
+        @Override
+        public Location getLocation() {
+            return location;
+        }
+
+        @Override
+        public boolean isLongRange() {
+            return false;
+        }
+
+        @Override
+        public Collection<Player> getViewers() {
+            return viewers;
+        }
+
+        @Override
+        public void show(Player player) {
+            if (removed || !viewers.add(player)) {
+                return;
+            }
+            packetBatcher.queue(player, createSpawnPacket());
+            List<WrappedDataValue> values = new ArrayList<>(3);
+            values.add(new WrappedDataValue(META_BILLBOARD + metaOffset, WrappedDataWatcher.Registry.get(Byte.class), BILLBOARD_CENTER));
+            values.add(textValue());
+            values.add(new WrappedDataValue(META_BACKGROUND_COLOR + metaOffset, WrappedDataWatcher.Registry.get(Integer.class), TRANSPARENT));
+            packetBatcher.queue(player, createMetadataPacket(values));
+        }
+
+        @Override
+        public void hide(Player player) {
+            if (viewers.remove(player)) {
+                packetBatcher.queue(player, createDestroyPacket());
+            }
+        }
+
+        @Override
+        public void forget(Player player) {
+            viewers.remove(player);
+        }
+
+        private WrappedDataValue textValue() {
+            return new WrappedDataValue(META_TEXT + metaOffset, WrappedDataWatcher.Registry.getChatComponentSerializer(false), text.getHandle());
+        }
+
+        private PacketContainer createSpawnPacket() {
+            PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY);
+            packet.getIntegers().write(0, entityId);
+            packet.getUUIDs().write(0, entityUUID);
+            packet.getEntityTypeModifier().write(0, EntityType.TEXT_DISPLAY);
+            packet.getDoubles()
+                    .write(0, location.getX())
+                    .write(1, location.getY())
+                    .write(2, location.getZ());
+            return packet;
+        }
+
+        private PacketContainer createTeleportPacket() {
+            PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_TELEPORT);
+            packet.getIntegers().write(0, entityId);
+            packet.getDoubles()
+                    .write(0, location.getX())
+                    .write(1, location.getY())
+                    .write(2, location.getZ());
+            packet.getBooleans().write(0, false); // Not on ground
+            return packet;
+        }
+
+        private PacketContainer createMetadataPacket(List<WrappedDataValue> values) {
+            PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
+            packet.getIntegers().write(0, entityId);
+            packet.getDataValueCollectionModifier().write(0, values);
+            return packet;
+        }
+
+        private PacketContainer createDestroyPacket() {
+            PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
+            packet.getIntLists().write(0, Collections.singletonList(entityId));
+            return packet;
+        }
+    }
+}
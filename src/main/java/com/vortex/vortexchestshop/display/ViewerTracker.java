@@ -0,0 +1,226 @@
+// src/main/java/com/vortex/vortexchestshop/display/ViewerTracker.java
+
+package com.vortex.vortexchestshop.display;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.utils.BlockKey;
+import com.vortex.vortexchestshop.utils.LongObjectMap;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Tracks which players can see which packet-based displays.
+ * <p>
+ * Displays are indexed by world and chunk. A player's visible set is only recomputed when they enter a new
+ * chunk, teleport, change worlds, respawn or join (see {@link PlayerChunkTracker}); it then covers the displays
+ * in the chunks within view range
+ * (or the long-range distance for long-range displays). Displays are shown to players that come into range and
+ * hidden from players that leave it, so packets are only ever sent to players close enough to see them.
+ * <p>
+ * All methods must be called from the main thread.
+ */
+public class ViewerTracker extends PlayerChunkTracker {
+
+    /**
+     * A packet-based display whose visibility is managed by the tracker.
+     */
+    public interface Viewable {
+
+        Location getLocation();
+
+        /**
+         * @return true if the display uses the long-range view distance.
+         */
+        boolean isLongRange();
+
+        /**
+         * @return The players the display is currently shown to.
+         */
+        Collection<Player> getViewers();
+
+        /**
+         * Shows the display to a player. Does nothing if it is already shown to them.
+         */
+        void show(Player player);
+
+        /**
+         * Hides the display from a player. Does nothing if it is not shown to them.
+         */
+        void hide(Player player);
+
+        /**
+         * Drops a player from the viewers without sending anything, e.g., after the client has discarded
+         * its entities on a world change.
+         */
+        void forget(Player player);
+    }
+
+    // View distances in chunks
+    private final int viewRadius;
+    private final int longRangeRadius;
+    // World name -> chunk key -> displays in that chunk
+    private final Map<String, LongObjectMap<List<Viewable>>> displaysByChunk;
+    // Displays shown to each tracked player
+    private final Map<UUID, Set<Viewable>> visibleByPlayer;
+
+    /**
+     * @param plugin The plugin, used to register the tracker's listeners.
+     * @param viewDistance The distance in blocks within which displays are shown.
+     * @param longRangeDistance The distance in blocks within which long-range displays are shown.
+     */
+    public ViewerTracker(VortexChestShop plugin, int viewDistance, int longRangeDistance) {
+        super(plugin);
+        this.viewRadius = toChunkRadius(viewDistance);
+        this.longRangeRadius = Math.max(viewRadius, toChunkRadius(longRangeDistance));
+        this.displaysByChunk = new HashMap<>();
+        this.visibleByPlayer = new HashMap<>();
+        start();
+    }
+
+    /**
+     * Adds a display and shows it to every player already in range.
+     * @param display The display to add.
+     */
+    public void register(Viewable display) {
+        Location location = display.getLocation();
+        LongObjectMap<List<Viewable>> worldDisplays = displaysByChunk.computeIfAbsent(location.getWorld().getName(), name -> new LongObjectMap<>());
+        long chunkKey = BlockKey.packChunk(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        List<Viewable> chunkDisplays = worldDisplays.get(chunkKey);
+        if (chunkDisplays == null) {
+            chunkDisplays = new ArrayList<>(1);
+            worldDisplays.put(chunkKey, chunkDisplays);
+        }
+        chunkDisplays.add(display);
+        refreshViewers(display);
+    }
+
+    /**
+     * Removes a display from the index and from every player's visible set. Sends nothing; the display
+     * destroys itself for its viewers.
+     * @param display The display to remove.
+     */
+    public void unregister(Viewable display) {
+        Location location = display.getLocation();
+        LongObjectMap<List<Viewable>> worldDisplays = displaysByChunk.get(location.getWorld().getName());
+        if (worldDisplays != null) {
+            long chunkKey = BlockKey.packChunk(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+            List<Viewable> chunkDisplays = worldDisplays.get(chunkKey);
+            if (chunkDisplays != null) {
+                chunkDisplays.remove(display);
+                if (chunkDisplays.isEmpty()) {
+                    worldDisplays.remove(chunkKey);
+                }
+            }
+        }
+        for (Player viewer : display.getViewers()) {
+            Set<Viewable> visible = visibleByPlayer.get(viewer.getUniqueId());
+            if (visible != null) {
+                visible.remove(display);
+            }
+        }
+    }
+
+    /**
+     * Re-evaluates which players can see a display, e.g., after its view distance changed.
+     * @param display The display to refresh.
+     */
+    public void refreshViewers(Viewable display) {
+        Location location = display.getLocation();
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+        int radius = display.isLongRange() ? longRangeRadius : viewRadius;
+        World world = location.getWorld();
+        for (Player player : world.getPlayers()) {
+            ChunkPosition position = getPosition(player);
+            Set<Viewable> visible = visibleByPlayer.get(player.getUniqueId());
+            if (position == null || visible == null || !position.worldName.equals(world.getName())) {
+                continue;
+            }
+            if (inRange(position.chunkX - chunkX, position.chunkZ - chunkZ, radius)) {
+                if (visible.add(display)) {
+                    display.show(player);
+                }
+            } else if (visible.remove(display)) {
+                display.hide(player);
+            }
+        }
+    }
+
+    /**
+     * Recomputes the displays visible to a player who entered a new chunk or world.
+     */
+    @Override
+    protected void enterChunk(Player player, ChunkPosition previous, ChunkPosition current) {
+        // Collect every display in range of the new chunk
+        Set<Viewable> nowVisible = new HashSet<>();
+        LongObjectMap<List<Viewable>> worldDisplays = displaysByChunk.get(current.worldName);
+        if (worldDisplays != null && !worldDisplays.isEmpty()) {
+            for (int dx = -longRangeRadius; dx <= longRangeRadius; dx++) {
+                for (int dz = -longRangeRadius; dz <= longRangeRadius; dz++) {
+                    if (!inRange(dx, dz, longRangeRadius)) {
+                        continue;
+                    }
+                    List<Viewable> chunkDisplays = worldDisplays.get(BlockKey.packChunk(current.chunkX + dx, current.chunkZ + dz));
+                    if (chunkDisplays == null) {
+                        continue;
+                    }
+                    boolean inViewRange = inRange(dx, dz, viewRadius);
+                    for (Viewable display : chunkDisplays) {
+                        if (inViewRange || display.isLongRange()) {
+                            nowVisible.add(display);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Hide displays that went out of range, then show the ones that came into range
+        Set<Viewable> visible = visibleByPlayer.computeIfAbsent(player.getUniqueId(), uuid -> new HashSet<>());
+        for (Viewable display : visible) {
+            if (!nowVisible.contains(display)) {
+                display.hide(player);
+            }
+        }
+        for (Viewable display : nowVisible) {
+            if (!visible.contains(display)) {
+                display.show(player);
+            }
+        }
+        visible.clear();
+        visible.addAll(nowVisible);
+    }
+
+    /**
+     * Forgets everything shown to a player without sending destroy packets.
+     * The player left (world change, respawn, quit), so the client has already discarded its entities.
+     */
+    @Override
+    protected void leave(Player player, ChunkPosition position) {
+        Set<Viewable> visible = visibleByPlayer.remove(player.getUniqueId());
+        if (visible != null) {
+            for (Viewable display : visible) {
+                display.forget(player);
+            }
+        }
+    }
+
+    /**
+     * Unregisters the tracker's listeners and forgets every player.
+     */
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        visibleByPlayer.clear();
+        displaysByChunk.clear();
+    }
+}
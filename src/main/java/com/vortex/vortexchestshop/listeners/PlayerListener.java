@@ -3,7 +3,11 @@
 package com.vortex.vortexchestshop.listeners;
 
 import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.config.Settings;
 import com.vortex.vortexchestshop.models.ChestShop;
+import com.vortex.vortexchestshop.storage.TransactionLedger;
+import com.vortex.vortexchestshop.utils.InventoryUtil;
+import com.vortex.vortexchestshop.utils.Logger;
 import org.bukkit.Bukkit; // Added for Bukkit.getOfflinePlayer
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
@@ -17,6 +21,8 @@ import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta; // Added for ItemMeta
 
+import java.util.UUID;
+
 public class PlayerListener implements Listener {
 
     private final VortexChestShop plugin;
@@ -39,7 +45,7 @@ public class PlayerListener implements Listener {
         }
 
         Player player = event.getPlayer();
-        String prefix = ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix"));
+        String prefix = plugin.getSettings().messagePrefix();
 
         // Get the shop associated with the clicked chest, if any
         ChestShop shop = plugin.getShopManager().getShopAtLocation(clickedBlock.getLocation());
@@ -65,76 +71,92 @@ public class PlayerListener implements Listener {
         // If it's not the owner, it's a potential buyer. Cancel the event to prevent opening the chest.
         event.setCancelled(true);
 
-        // Check if the shop is active and has stock
-        if (shop.getCurrentStock() <= 0) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.shop-inactive")));
+        // Sneak-clicking buys as many transactions at once as the player can afford and carry (bulk buy)
+        Settings settings = plugin.getSettings();
+        int maxTransactions = player.isSneaking() && settings.bulkBuyEnabled() ? settings.bulkBuyMaxTransactions() : 1;
+        int quantity = shop.getQuantity();
+        double price = shop.getPrice(); // Cost for one transaction (quantity)
+
+        // Check if the shop is active and has stock for at least one transaction
+        int transactions = Math.min(maxTransactions, shop.getCurrentStock() / quantity);
+        if (transactions <= 0) {
+            plugin.getMessageService().send(player, "shop-inactive");
             return;
         }
 
-        // Check if the player has enough money for one transaction (quantity)
-        double totalCost = shop.getPrice(); // Cost for one transaction (quantity)
-        if (!plugin.getEconomyManager().has(player, totalCost)) {
-            player.sendMessage(prefix + ChatColor.RED + "You don't have enough money! You need $" + String.format("%,.2f", totalCost) + ".");
+        // Check if the player has inventory space for the items, counting partial stacks of the same item
+        transactions = Math.min(transactions, InventoryUtil.getFreeSpace(player.getInventory(), shop.getSoldItem()) / quantity);
+        if (transactions <= 0) {
+            plugin.getMessageService().send(player, "purchase-inventory-full");
             return;
         }
 
-        // Prepare the item stack to give to the player
-        ItemStack itemToGive = shop.getSoldItem().clone();
-        itemToGive.setAmount(shop.getQuantity());
-
-        // Check if player has inventory space for the items
-        // This check is a bit simplistic; a more robust check would simulate adding items
-        // to account for stack sizes and existing partial stacks.
-        if (player.getInventory().firstEmpty() == -1 && !player.getInventory().containsAtLeast(itemToGive, shop.getQuantity())) {
-            player.sendMessage(prefix + ChatColor.RED + "Your inventory is full! Make some space.");
+        // With asynchronous economy transactions, the balance check and payment run on the economy thread
+        if (settings.asyncEconomy()) {
+            plugin.getPurchasePipeline().submit(player, shop, (Chest) clickedBlock.getState(), transactions);
             return;
         }
 
-        // Attempt to withdraw money from the buyer
-        boolean withdrawalSuccess = plugin.getEconomyManager().withdraw(player, totalCost);
-        if (!withdrawalSuccess) {
-            player.sendMessage(prefix + ChatColor.RED + "Failed to withdraw money. Please try again.");
+        // Check if the player has enough money for at least one transaction
+        if (transactions == 1) {
+            if (!plugin.getEconomyManager().has(player, price)) {
+                transactions = 0;
+            }
+        } else {
+            transactions = (int) Math.min(transactions, Math.floor(plugin.getEconomyManager().getBalance(player) / price));
+        }
+        if (transactions <= 0) {
+            plugin.getMessageService().send(player, "purchase-not-enough-money", "price", String.format("%,.2f", price));
             return;
         }
 
+        int totalItems = transactions * quantity;
+        double totalCost = price * transactions;
+
         // Calculate tax and determine amount for the owner
         double taxAmount = plugin.getEconomyManager().calculateTax(Bukkit.getOfflinePlayer(shop.getOwnerUUID()), totalCost);
         double ownerReceiveAmount = totalCost - taxAmount;
 
+        // Record the purchase in the ledger before any money moves, so a crash can be reconciled.
+        // The entry reaches the disk with this tick's group commit; the main thread never waits for an fsync.
+        TransactionLedger ledger = plugin.getShopManager().getLedger();
+        UUID transactionId = ledger.beginPurchase(shop, player.getUniqueId(), totalItems, totalCost, taxAmount);
+
+        // Attempt to withdraw money from the buyer
+        boolean withdrawalSuccess = plugin.getEconomyManager().withdraw(player, totalCost);
+        if (!withdrawalSuccess) {
+            ledger.recordPurchaseStage(transactionId, TransactionLedger.PURCHASE_ROLLBACK);
+            plugin.getMessageService().send(player, "purchase-withdraw-failed");
+            return;
+        }
+        ledger.recordPurchaseStage(transactionId, TransactionLedger.PURCHASE_WITHDRAWN);
+
         // Attempt to deposit money to the shop owner
         boolean ownerDepositSuccess = plugin.getEconomyManager().deposit(Bukkit.getOfflinePlayer(shop.getOwnerUUID()), ownerReceiveAmount);
 
         if (!ownerDepositSuccess) {
             // If owner deposit failed, refund the buyer's money
             plugin.getEconomyManager().deposit(player, totalCost);
-            player.sendMessage(prefix + ChatColor.RED + "Transaction failed: Could not deposit money to shop owner. Your money has been refunded.");
+            ledger.recordPurchaseStage(transactionId, TransactionLedger.PURCHASE_ROLLBACK);
+            plugin.getMessageService().send(player, "purchase-owner-deposit-failed");
             Logger.severe("Failed to deposit money to shop owner " + shop.getOwnerUUID() + " for shop at " + shop.getLocation() + ". Buyer " + player.getName() + " was refunded.");
             return;
         }
 
         // Get the physical chest inventory
         Chest chest = (Chest) clickedBlock.getState();
-        // Attempt to remove items from the chest inventory
-        int removedCount = 0;
-        for (ItemStack chestItem : chest.getInventory().getContents()) {
-            if (chestItem != null && chestItem.isSimilar(shop.getSoldItem())) {
-                int toRemove = Math.min(chestItem.getAmount(), shop.getQuantity() - removedCount);
-                if (toRemove > 0) {
-                    chestItem.setAmount(chestItem.getAmount() - toRemove);
-                    removedCount += toRemove;
-                    if (removedCount >= shop.getQuantity()) {
-                        break; // Enough items removed for this transaction
-                    }
-                }
-            }
-        }
+        // Attempt to remove the items of every transaction from the chest inventory in one pass
+        int removedCount = InventoryUtil.takeItems(chest.getInventory(), shop, totalItems, null);
         // If not enough items were found in the chest, this indicates a discrepancy.
         // In a more robust system, you might refund the player and log an error.
-        if (removedCount < shop.getQuantity()) {
-            player.sendMessage(prefix + ChatColor.RED + "Error: Not enough items found in the shop chest. Transaction cancelled, money refunded.");
+        if (removedCount < totalItems) {
+            plugin.getMessageService().send(player, "purchase-insufficient-stock");
             plugin.getEconomyManager().deposit(player, totalCost); // Refund buyer
             // Refund owner's portion if it was already deposited
             plugin.getEconomyManager().withdraw(Bukkit.getOfflinePlayer(shop.getOwnerUUID()), ownerReceiveAmount);
+            ledger.recordPurchaseStage(transactionId, TransactionLedger.PURCHASE_ROLLBACK);
+            // The tracked stock was wrong; recount the chest
+            plugin.getShopManager().getStockTracker().requestRecount(shop);
             Logger.severe("Shop at " + shop.getLocation() + " had insufficient stock. Buyer " + player.getName() + " and owner " + shop.getOwnerUUID() + " were refunded/withdrawn.");
             return;
         }
@@ -142,24 +164,28 @@ public class PlayerListener implements Listener {
         chest.update(); // Update the chest block state to reflect item removal
 
         // Give items to the buyer
-        player.getInventory().addItem(itemToGive);
+        InventoryUtil.giveItems(player, shop.getSoldItem(), totalItems);
+        ledger.recordPurchaseStage(transactionId, TransactionLedger.PURCHASE_COMMIT);
 
         // Send confirmation message to the buyer
-        player.sendMessage(prefix + ChatColor.GREEN + "You bought " + ChatColor.YELLOW + shop.getQuantity() + " " +
-                getItemDisplayName(shop.getSoldItem()) +
-                ChatColor.GREEN + " for $" + String.format("%,.2f", totalCost) + ".");
+        String boughtAmount = String.valueOf(totalItems);
+        String itemName = getItemDisplayName(shop.getSoldItem());
+        plugin.getMessageService().send(player, "purchase-success",
+                "quantity", boughtAmount, "item_name", itemName, "price", String.format("%,.2f", totalCost));
 
         // Notify owner (if online)
         Player owner = shop.getOwnerPlayer();
         if (owner != null && owner.isOnline()) {
-            owner.sendMessage(prefix + ChatColor.GREEN + player.getName() + " bought " + ChatColor.YELLOW + shop.getQuantity() + " " +
-                    getItemDisplayName(shop.getSoldItem()) +
-                    ChatColor.GREEN + " from your shop at " + ChatColor.YELLOW + shop.getLocation().getBlockX() + "," + shop.getLocation().getBlockY() + "," + shop.getLocation().getBlockZ() +
-                    ChatColor.GREEN + " for $" + String.format("%,.2f", ownerReceiveAmount) + " (tax: $" + String.format("%,.2f", taxAmount) + ").");
+            plugin.getMessageService().send(owner, "purchase-owner-notify",
+                    "player", player.getName(), "quantity", boughtAmount, "item_name", itemName,
+                    "x", String.valueOf(shop.getLocation().getBlockX()),
+                    "y", String.valueOf(shop.getLocation().getBlockY()),
+                    "z", String.valueOf(shop.getLocation().getBlockZ()),
+                    "amount", String.format("%,.2f", ownerReceiveAmount), "tax", String.format("%,.2f", taxAmount));
         }
 
-        // Update shop stock and display after transaction
-        plugin.getShopManager().updateShopStock(shop);
+        // Apply the sold items to the shop's stock (also updates its display) without recounting the chest
+        plugin.getShopManager().getStockTracker().applyDelta(shop, -removedCount);
     }
 
     /**
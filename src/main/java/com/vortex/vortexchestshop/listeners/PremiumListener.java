@@ -0,0 +1,41 @@
+// src/main/java/com/vortex/vortexchestshop/listeners/PremiumListener.java
+
+package com.vortex.vortexchestshop.listeners;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Keeps the premium profiles stored on shops in sync with their owners' online state.
+ */
+public class PremiumListener implements Listener {
+
+    private final VortexChestShop plugin;
+
+    public PremiumListener(VortexChestShop plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Resolves the joining player's premium profile and applies it to their shops.
+     * Runs last so permission plugins have already set up the player's permissions.
+     * @param event The PlayerJoinEvent.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        plugin.getPremiumProfileManager().refresh(event.getPlayer());
+    }
+
+    /**
+     * Removes the premium visuals of a player's shops when they go offline.
+     * @param event The PlayerQuitEvent.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        plugin.getPremiumProfileManager().clear(event.getPlayer().getUniqueId());
+    }
+}
@@ -15,6 +15,9 @@ import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldLoadEvent;
 import org.bukkit.inventory.InventoryHolder; // Added for clarity, though Chest already implements it
 
 public class ShopListener implements Listener {
@@ -44,7 +47,7 @@ public class ShopListener implements Listener {
         }
 
         Player player = event.getPlayer();
-        String prefix = ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix"));
+        String prefix = plugin.getSettings().messagePrefix();
 
         // Check if the player is the owner or has admin permission to break shops
         if (!shop.getOwnerUUID().equals(player.getUniqueId()) && !player.hasPermission("vortexchestshop.admin.removeshop")) {
@@ -56,7 +59,7 @@ public class ShopListener implements Listener {
 
         // If authorized, remove the shop from the system
         if (plugin.getShopManager().removeShop(brokenBlock.getLocation())) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.shop-removed")));
+            plugin.getMessageService().send(player, "shop-removed");
             Logger.info("Shop at " + brokenBlock.getLocation() + " removed by " + player.getName());
         } else {
             player.sendMessage(prefix + ChatColor.RED + "Failed to remove shop data. Please contact an admin.");
@@ -79,7 +82,7 @@ public class ShopListener implements Listener {
         // Check if a shop already exists at the location where the chest is being placed
         if (plugin.getShopManager().getShopAtLocation(placedBlock.getLocation()) != null) {
             event.setCancelled(true); // Cancel the event to prevent placing
-            event.getPlayer().sendMessage(ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix")) +
+            event.getPlayer().sendMessage(plugin.getSettings().messagePrefix() +
                     ChatColor.RED + "Cannot place a chest here, a shop already exists or was recently removed.");
             Logger.info(event.getPlayer().getName() + " attempted to place a chest on an existing shop location at " + placedBlock.getLocation());
             return;
@@ -106,9 +109,7 @@ public class ShopListener implements Listener {
             plugin.getShopManager().updateShopStock(shop);
             // Notify the player (if they are the owner) about the stock update
             if (event.getPlayer().getUniqueId().equals(shop.getOwnerUUID())) {
-                event.getPlayer().sendMessage(ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix")) +
-                        ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.stock-updated")
-                                .replace("%stock%", String.valueOf(shop.getCurrentStock()))));
+                plugin.getMessageService().send(event.getPlayer(), "stock-updated", "stock", String.valueOf(shop.getCurrentStock()));
             }
             Logger.debug("Shop stock updated for shop at " + chest.getLocation() + " after inventory close.");
         }
@@ -133,11 +134,40 @@ public class ShopListener implements Listener {
             // The PlayerListener handles right-click for buying, this ensures direct inventory access is blocked.
             if (!shop.getOwnerUUID().equals(event.getPlayer().getUniqueId())) {
                 event.setCancelled(true);
-                event.getPlayer().sendMessage(ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix")) +
+                event.getPlayer().sendMessage(plugin.getSettings().messagePrefix() +
                         ChatColor.RED + "You cannot open another player's chest shop directly. Right-click to buy!");
                 Logger.info(event.getPlayer().getName() + " attempted to open unauthorized shop at " + chest.getLocation());
             }
             // Owners are allowed to open their own shops to manage stock, as handled in PlayerListener.
         }
     }
+
+    /**
+     * Handles worlds loaded after startup (e.g., by a multi-world plugin) by loading their shops.
+     * @param event The WorldLoadEvent.
+     */
+    @EventHandler
+    public void onWorldLoad(WorldLoadEvent event) {
+        plugin.getShopManager().loadWorldShops(event.getWorld());
+    }
+
+    /**
+     * Refreshes the shops inside a chunk when it loads, and returns items held for them by unfinished purchases.
+     * Only that chunk's shops are touched.
+     * @param event The ChunkLoadEvent.
+     */
+    @EventHandler
+    public void onChunkLoad(ChunkLoadEvent event) {
+        plugin.getShopManager().handleChunkLoad(event.getChunk());
+        plugin.getPurchasePipeline().handleChunkLoad(event.getWorld(), event.getChunk().getX(), event.getChunk().getZ());
+    }
+
+    /**
+     * Releases the floating displays of the shops inside a chunk when it unloads.
+     * @param event The ChunkUnloadEvent.
+     */
+    @EventHandler
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        plugin.getShopManager().handleChunkUnload(event.getChunk());
+    }
               }
@@ -0,0 +1,116 @@
+// src/main/java/com/vortex/vortexchestshop/listeners/StockListener.java
+
+package com.vortex.vortexchestshop.listeners;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.managers.StockTracker;
+import com.vortex.vortexchestshop.models.ChestShop;
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.DoubleChestInventory;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Feeds inventory changes of shop chests into the StockTracker.
+ * Shops are resolved from the inventory's location rather than its holder, since getting the holder
+ * of a block inventory creates a block state snapshot on every call.
+ */
+public class StockListener implements Listener {
+
+    private final VortexChestShop plugin;
+
+    public StockListener(VortexChestShop plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Recounts a shop chest after a player clicks in a view that contains it.
+     * Shift-clicks from the player's own inventory can also move items into the chest, so the whole view is checked.
+     * @param event The InventoryClickEvent.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        requestRecount(event.getView().getTopInventory());
+    }
+
+    /**
+     * Recounts a shop chest after a player drags items across its slots.
+     * @param event The InventoryDragEvent.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        Inventory top = event.getView().getTopInventory();
+        for (int rawSlot : event.getRawSlots()) {
+            if (rawSlot < top.getSize()) {
+                requestRecount(top);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Applies hopper (and other block) transfers in and out of shop chests as stock deltas.
+     * @param event The InventoryMoveItemEvent.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryMoveItem(InventoryMoveItemEvent event) {
+        ItemStack item = event.getItem();
+        applyDelta(event.getSource(), item, -item.getAmount());
+        applyDelta(event.getDestination(), item, item.getAmount());
+    }
+
+    private void requestRecount(Inventory inventory) {
+        if (inventory.getType() != InventoryType.CHEST) {
+            return;
+        }
+        StockTracker stockTracker = plugin.getShopManager().getStockTracker();
+        if (inventory instanceof DoubleChestInventory) {
+            DoubleChestInventory doubleChest = (DoubleChestInventory) inventory;
+            ChestShop left = getShop(doubleChest.getLeftSide().getLocation());
+            ChestShop right = getShop(doubleChest.getRightSide().getLocation());
+            if (left != null) {
+                stockTracker.requestRecount(left);
+            }
+            if (right != null) {
+                stockTracker.requestRecount(right);
+            }
+            return;
+        }
+        ChestShop shop = getShop(inventory.getLocation());
+        if (shop != null) {
+            stockTracker.requestRecount(shop);
+        }
+    }
+
+    private void applyDelta(Inventory inventory, ItemStack item, int delta) {
+        if (inventory.getType() != InventoryType.CHEST) {
+            return;
+        }
+        StockTracker stockTracker = plugin.getShopManager().getStockTracker();
+        if (inventory instanceof DoubleChestInventory) {
+            // Both halves share the double chest's contents, so both shops see the change
+            DoubleChestInventory doubleChest = (DoubleChestInventory) inventory;
+            applyDelta(stockTracker, getShop(doubleChest.getLeftSide().getLocation()), item, delta);
+            applyDelta(stockTracker, getShop(doubleChest.getRightSide().getLocation()), item, delta);
+            return;
+        }
+        applyDelta(stockTracker, getShop(inventory.getLocation()), item, delta);
+    }
+
+    private void applyDelta(StockTracker stockTracker, ChestShop shop, ItemStack item, int delta) {
+        if (shop != null && shop.matchesSoldItem(item)) {
+            stockTracker.applyDelta(shop, delta);
+        }
+    }
+
+    private ChestShop getShop(Location location) {
+        return location != null ? plugin.getShopManager().getShopAtLocation(location) : null;
+    }
+}
@@ -0,0 +1,144 @@
+// src/main/java/com/vortex/vortexchestshop/managers/DisplayTicker.java
+
+package com.vortex.vortexchestshop.managers;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Runs a per-display update for every active display from a single scheduler task.
+ * <p>
+ * Displays are kept in a compact array; removal swaps the last display into the freed slot, so adding and
+ * removing are constant time and iteration touches no empty slots. Each display is updated once every
+ * {@code stride} ticks. Displays are assigned phase offsets round-robin as they are added, so with a
+ * stride of N roughly 1/N of them are updated on any given tick instead of all of them on the same tick.
+ *
+ * @param <T> The display type.
+ */
+public class DisplayTicker<T extends DisplayTicker.Entry> {
+
+    /**
+     * Base class for displays managed by a DisplayTicker. Holds the ticker's bookkeeping.
+     */
+    public abstract static class Entry {
+        private int slot = -1; // Index in the ticker's array, or -1 if not registered
+        private int phase; // Tick offset within the stride
+    }
+
+    private final Consumer<T> action;
+    private Entry[] entries = new Entry[64];
+    private int size;
+    private int stride;
+    private int nextPhase;
+    private long currentTick;
+    private BukkitTask task;
+
+    /**
+     * @param action The update to run for a display on each of its ticks.
+     * @param stride The interval in ticks between updates of the same display.
+     */
+    public DisplayTicker(Consumer<T> action, int stride) {
+        this.action = action;
+        this.stride = Math.max(1, stride);
+    }
+
+    /**
+     * Starts the shared ticker task, replacing any previously started one.
+     * @param plugin The plugin to schedule the task for.
+     */
+    public void start(VortexChestShop plugin) {
+        stop();
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Stops the shared ticker task. Registered displays are kept.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Changes the update stride. Existing phase offsets and the phase of the next display are reduced to the new stride.
+     * @param stride The interval in ticks between updates of the same display.
+     */
+    public void setStride(int stride) {
+        this.stride = Math.max(1, stride);
+        nextPhase %= this.stride;
+        for (int i = 0; i < size; i++) {
+            entries[i].phase %= this.stride;
+        }
+    }
+
+    /**
+     * Registers a display. Does nothing if it is already registered.
+     * @param display The display to add.
+     */
+    public void add(T display) {
+        Entry entry = display;
+        if (entry.slot >= 0) {
+            return;
+        }
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        entry.phase = nextPhase;
+        nextPhase = (nextPhase + 1) % stride;
+        entry.slot = size;
+        entries[size++] = entry;
+    }
+
+    /**
+     * Unregisters a display. Does nothing if it is not registered.
+     * @param display The display to remove.
+     */
+    public void remove(T display) {
+        Entry entry = display;
+        int slot = entry.slot;
+        if (slot < 0) {
+            return;
+        }
+        Entry last = entries[--size];
+        entries[slot] = last;
+        last.slot = slot;
+        entries[size] = null;
+        entry.slot = -1;
+    }
+
+    /**
+     * Unregisters every display.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            entries[i].slot = -1;
+            entries[i] = null;
+        }
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void tick() {
+        int phase = (int) (currentTick++ % stride);
+        // Iterate backwards so a display removing itself only swaps in one that was already visited
+        for (int i = size - 1; i >= 0; i--) {
+            if (i >= size) {
+                continue; // More than one display was removed during the previous update
+            }
+            Entry display = entries[i];
+            if (display.phase == phase) {
+                action.accept((T) display);
+            }
+        }
+    }
+}
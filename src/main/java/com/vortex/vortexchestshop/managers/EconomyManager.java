@@ -98,14 +98,14 @@ public class EconomyManager {
         if (player.isOnline()) {
             Player onlinePlayer = player.getPlayer();
             if (onlinePlayer != null && onlinePlayer.hasPermission("vortexchestshop.premium.tax.reduced")) {
-                taxRate = plugin.getConfig().getDouble("shop-settings.premium-transaction-tax", 0.02);
+                taxRate = plugin.getSettings().premiumTransactionTax();
             } else {
-                taxRate = plugin.getConfig().getDouble("shop-settings.f2p-transaction-tax", 0.05);
+                taxRate = plugin.getSettings().f2pTransactionTax();
             }
         } else {
             // If player is offline, assume F2P tax rate or a default if premium status can't be determined
             // A more advanced system might store premium status persistently for offline players.
-            taxRate = plugin.getConfig().getDouble("shop-settings.f2p-transaction-tax", 0.05);
+            taxRate = plugin.getSettings().f2pTransactionTax();
             Logger.debug("Player " + player.getName() + " is offline. Applying F2P tax rate for transaction.");
         }
         return amount * taxRate;
@@ -2,46 +2,111 @@
 
 package com.vortex.vortexchestshop.managers;
 
-import com.comphenix.protocol.PacketType;
-import com.comphenix.protocol.ProtocolLibrary;
-import com.comphenix.protocol.events.PacketContainer;
-import com.comphenix.protocol.wrappers.WrappedChatComponent;
-import com.comphenix.protocol.wrappers.WrappedDataWatcher;
 import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.config.Settings;
+import com.vortex.vortexchestshop.display.ArmorStandDisplayBackend;
+import com.vortex.vortexchestshop.display.ChunkViewerCounter;
+import com.vortex.vortexchestshop.display.DisplayBackend;
+import com.vortex.vortexchestshop.display.FloatingDisplay;
+import com.vortex.vortexchestshop.display.ItemDisplayBackend;
+import com.vortex.vortexchestshop.display.PacketDisplayBackend;
 import com.vortex.vortexchestshop.models.ChestShop;
+import com.vortex.vortexchestshop.models.PremiumProfile;
+import com.vortex.vortexchestshop.utils.BlockKey;
 import com.vortex.vortexchestshop.utils.Logger;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.entity.ArmorStand;
-import org.bukkit.entity.EntityType;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitTask;
-import org.bukkit.util.EulerAngle;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional; // Correct import for java.util.Optional
 import java.util.UUID;
 
 public class FloatingItemDisplayManager {
 
     private final VortexChestShop plugin;
-    // Map to store ArmorStand entities for each shop
-    private final Map<UUID, ArmorStand> shopDisplays;
-    // Map to store running tasks for each shop's display updates (e.g., rotation)
-    private final Map<UUID, BukkitTask> shopDisplayTasks;
+    // Map to store the active display of each shop
+    private final Map<UUID, ActiveDisplay> shopDisplays;
+    // Single scheduler task that updates every active display (e.g., rotation)
+    private final DisplayTicker<ActiveDisplay> displayTicker;
+    // Creates the displays, selected by floating-display.backend
+    private final DisplayBackend backend;
+    // Per-chunk player counts; displays without players in range are not animated
+    private final ChunkViewerCounter viewerCounter;
+    // Limits the particles premium displays spawn per tick
+    private final ParticleBudget particleBudget;
+    private double baseRotationSpeed;
+    private double premiumRotationSpeed;
+
+    /**
+     * A shop and the floating display created for it by the backend.
+     */
+    private static final class ActiveDisplay extends DisplayTicker.Entry {
+        private final ChestShop shop;
+        private final FloatingDisplay floatingDisplay;
+        // The display's chunk, for viewer lookups
+        private final String worldName;
+        private final long chunkKey;
+        // Premium visuals changed while nobody was in range; applied once a player comes close
+        private boolean visualsPending;
+        private final ParticleBudget.Emitter particleEmitter = new ParticleBudget.Emitter();
+
+        private ActiveDisplay(ChestShop shop, FloatingDisplay floatingDisplay) {
+            this.shop = shop;
+            this.floatingDisplay = floatingDisplay;
+            Location location = floatingDisplay.getLocation();
+            this.worldName = location.getWorld().getName();
+            this.chunkKey = BlockKey.packChunk(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        }
+    }
 
     public FloatingItemDisplayManager(VortexChestShop plugin) {
         this.plugin = plugin;
         this.shopDisplays = new HashMap<>();
-        this.shopDisplayTasks = new HashMap<>();
+        this.displayTicker = new DisplayTicker<>(this::tickDisplay, plugin.getSettings().floatingItemTickRate());
+        this.baseRotationSpeed = plugin.getSettings().baseRotationSpeed();
+        this.premiumRotationSpeed = plugin.getSettings().premiumRotationSpeed();
+        this.backend = createBackend();
+        this.viewerCounter = new ChunkViewerCounter(plugin, getCullDistance(plugin.getSettings()));
+        this.particleBudget = new ParticleBudget();
+        Logger.info("Using " + backend.getName() + " floating item displays.");
+    }
+
+    /**
+     * Gets the distance within which players keep displays animated: the cull distance, or the long-range
+     * distance if premium displays may be seen from further away.
+     */
+    private static int getCullDistance(Settings settings) {
+        return settings.premiumLongRange() ? Math.max(settings.displayCullDistance(), settings.longRangeDistance()) : settings.displayCullDistance();
+    }
+
+    /**
+     * Creates the display backend configured by floating-display.backend.
+     * Falls back to ArmorStands if the configured backend's requirements are missing.
+     * @return The display backend to use.
+     */
+    private DisplayBackend createBackend() {
+        String type = plugin.getSettings().displayBackend();
+        if (type.equalsIgnoreCase("ITEM_DISPLAY")) {
+            if (ItemDisplayBackend.isSupported()) {
+                return new ItemDisplayBackend(plugin);
+            }
+            Logger.warning("The ITEM_DISPLAY backend requires Minecraft 1.19.4 or newer. Falling back to ArmorStand displays.");
+        } else if (type.equalsIgnoreCase("PACKET")) {
+            if (Bukkit.getPluginManager().getPlugin("ProtocolLib") != null && Bukkit.getPluginManager().getPlugin("ProtocolLib").isEnabled()) {
+                return new PacketDisplayBackend(plugin);
+            }
+            Logger.warning("The PACKET display backend requires ProtocolLib. Falling back to ArmorStand displays.");
+        } else if (!type.equalsIgnoreCase("ARMOR_STAND")) {
+            Logger.warning("Unknown display backend '" + type + "'. Using ArmorStand displays.");
+        }
+        return new ArmorStandDisplayBackend(plugin);
     }
 
     /**
-     * Creates a floating item display for a given ChestShop.
-     * This method spawns a hidden ArmorStand entity that holds the item.
+     * Creates a floating item display for a given ChestShop using the configured backend
+     * (an ItemDisplay entity, a hidden ArmorStand entity, or a packet-only virtual entity).
      * For advanced features like glowing outlines and long-range visibility,
-     * ProtocolLib packet manipulation is used here.
+     * ProtocolLib packet manipulation is used.
      *
      * @param shop The ChestShop to create a display for.
      */
@@ -50,6 +115,10 @@ public class FloatingItemDisplayManager {
         if (!shop.isDisplayEnabled() || shop.getCurrentStock() <= 0) {
             return;
         }
+        // Displays only exist in loaded chunks; it is created when the chunk loads
+        if (!plugin.getShopManager().isShopLoaded(shop)) {
+            return;
+        }
         // If a display already exists for this shop, update it instead
         if (shopDisplays.containsKey(shop.getId())) {
             updateDisplay(shop);
@@ -58,35 +127,16 @@ public class FloatingItemDisplayManager {
 
         Location displayLocation = getDisplayLocation(shop.getLocation());
 
-        // Ensure the chunk is loaded before attempting to spawn the ArmorStand
-        if (!displayLocation.getChunk().isLoaded()) {
-            displayLocation.getChunk().load(true);
-        }
+        FloatingDisplay floatingDisplay = backend.spawn(shop, displayLocation);
 
-        // Spawn a temporary ArmorStand for the item display
-        ArmorStand armorStand = (ArmorStand) displayLocation.getWorld().spawnEntity(displayLocation, EntityType.ARMOR_STAND);
-        armorStand.setGravity(false); // Make it float in the air
-        armorStand.setBasePlate(false); // No base plate visible
-        armorStand.setArms(false); // No arms visible
-        armorStand.setVisible(false); // Make the armor stand itself invisible
-        armorStand.setSmall(true); // Make it small (optional, can be false for larger items)
-        armorStand.setMarker(true); // Prevents interaction and collision with players/entities
-        armorStand.setCanPickupItems(false); // Prevents picking up items
-        armorStand.setPersistent(false); // Do not save with chunk, will be removed on plugin disable
-
-        // Set the item the armor stand is holding in its helmet slot
-        armorStand.getEquipment().setHelmet(shop.getSoldItem().clone());
-
-        shopDisplays.put(shop.getId(), armorStand);
+        ActiveDisplay display = new ActiveDisplay(shop, floatingDisplay);
+        shopDisplays.put(shop.getId(), display);
         Logger.debug("Created floating display for shop " + shop.getId() + " at " + displayLocation.toString());
 
-        // Apply premium visual effects using ProtocolLib
-        applyPremiumVisuals(shop, armorStand);
-        // Start the rotation task for this specific shop
-        startDisplayTask(shop,
-                plugin.getConfig().getDouble("floating-display.base-rotation-speed", 0.05),
-                plugin.getConfig().getDouble("floating-display.premium-rotation-speed", 0.1),
-                plugin.getConfig().getLong("performance.floating-item-tick-rate", 1));
+        // Apply premium visual effects
+        applyPremiumVisuals(display);
+        // Register the display with the shared ticker for rotation and particles
+        displayTicker.add(display);
     }
 
     /**
@@ -95,33 +145,27 @@ public class FloatingItemDisplayManager {
      * @param shop The ChestShop to update.
      */
     public void updateDisplay(ChestShop shop) {
-        ArmorStand armorStand = shopDisplays.get(shop.getId());
+        ActiveDisplay display = shopDisplays.get(shop.getId());
 
         // If display is disabled or stock is zero, remove the display
         if (!shop.isDisplayEnabled() || shop.getCurrentStock() <= 0) {
-            if (armorStand != null) {
+            if (display != null) {
                 removeDisplay(shop);
             }
             return;
         }
 
         // If display doesn't exist but should, create it
-        if (armorStand == null) {
+        if (display == null) {
             createDisplay(shop);
             return;
         }
 
         // Update the item if it has changed
-        ItemStack currentHelmet = armorStand.getEquipment().getHelmet();
-        if (currentHelmet == null || !currentHelmet.isSimilar(shop.getSoldItem())) {
-            armorStand.getEquipment().setHelmet(shop.getSoldItem().clone());
-        }
+        display.floatingDisplay.setItem(shop.getSoldItem());
 
         // Re-apply premium visual effects in case settings or player permissions changed
-        applyPremiumVisuals(shop, armorStand);
-
-        // Update associated hologram
-        plugin.getHologramManager().updateHologram(shop);
+        applyPremiumVisuals(display);
         Logger.debug("Updated floating display for shop " + shop.getId());
     }
 
@@ -130,13 +174,27 @@ public class FloatingItemDisplayManager {
      * @param shop The ChestShop to remove the display for.
      */
     public void removeDisplay(ChestShop shop) {
-        ArmorStand armorStand = shopDisplays.remove(shop.getId());
-        if (armorStand != null) {
-            armorStand.remove(); // Remove the ArmorStand entity from the world
+        ActiveDisplay display = shopDisplays.remove(shop.getId());
+        if (display != null) {
+            displayTicker.remove(display); // Stop its rotation updates
+            display.floatingDisplay.remove(); // Remove the display for every player
             Logger.debug("Removed floating display for shop " + shop.getId());
         }
         plugin.getHologramManager().removeHologram(shop); // Also remove associated hologram
-        stopDisplayTask(shop.getId()); // Stop its rotation task
+    }
+
+    /**
+     * Releases the floating item display of a shop whose chunk is being unloaded.
+     * The display is created again when the chunk loads.
+     * @param shop The ChestShop whose chunk is unloading.
+     */
+    public void unloadDisplay(ChestShop shop) {
+        ActiveDisplay display = shopDisplays.remove(shop.getId());
+        if (display != null) {
+            displayTicker.remove(display);
+            display.floatingDisplay.remove();
+            Logger.debug("Unloaded floating display for shop " + shop.getId());
+        }
     }
 
     /**
@@ -144,17 +202,18 @@ public class FloatingItemDisplayManager {
      * Called when the plugin is disabled to prevent lingering entities.
      */
     public void cleanupAllDisplays() {
-        // Remove all spawned ArmorStands
-        for (ArmorStand armorStand : shopDisplays.values()) {
-            if (armorStand != null && armorStand.isValid()) {
-                armorStand.remove();
+        // Remove all displays
+        for (ActiveDisplay display : shopDisplays.values()) {
+            if (display.floatingDisplay.isValid()) {
+                display.floatingDisplay.remove();
             }
         }
         shopDisplays.clear();
 
-        // Cancel all running display tasks
-        shopDisplayTasks.values().forEach(BukkitTask::cancel);
-        shopDisplayTasks.clear();
+        // Unregister all displays from the ticker and release the backend
+        displayTicker.clear();
+        backend.shutdown();
+        viewerCounter.shutdown();
 
         // Clean up all holograms managed by HologramManager
         plugin.getHologramManager().cleanupAllHolograms();
@@ -162,97 +221,66 @@ public class FloatingItemDisplayManager {
     }
 
     /**
-     * Starts the periodic tasks for updating floating item displays (e.g., rotation)
-     * and a global task for checking shop stock.
+     * Starts the shared task that updates floating item displays (e.g., rotation).
+     * A single scheduler task updates every active display; with a floating-item-tick-rate of N,
+     * each display is updated every N ticks and the displays are spread evenly across those ticks.
+     * Stock is kept up to date by the StockTracker.
      */
     public void startDisplayTasks() {
-        // Iterate over existing shops and start their individual rotation tasks
-        plugin.getShopManager().activeShops.values().forEach(shop -> {
-            if (shop.isDisplayEnabled() && shop.getCurrentStock() > 0) {
-                startDisplayTask(shop,
-                        plugin.getConfig().getDouble("floating-display.base-rotation-speed", 0.05),
-                        plugin.getConfig().getDouble("floating-display.premium-rotation-speed", 0.1),
-                        plugin.getConfig().getLong("performance.floating-item-tick-rate", 1));
-            }
-        });
-
-        // Schedule a global repeating task to check and update shop stock periodically
-        long stockCheckRate = plugin.getConfig().getLong("performance.stock-check-rate", 40);
-        Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            plugin.getShopManager().activeShops.values().forEach(shop -> {
-                plugin.getShopManager().updateShopStock(shop);
-            });
-        }, stockCheckRate, stockCheckRate);
-
-        Logger.info("Started floating item display update and stock check tasks.");
+        Settings settings = plugin.getSettings();
+        baseRotationSpeed = settings.baseRotationSpeed();
+        premiumRotationSpeed = settings.premiumRotationSpeed();
+        displayTicker.setStride(settings.floatingItemTickRate());
+        viewerCounter.setDistance(getCullDistance(settings));
+        particleBudget.setBudgets(settings.particleBudgetPerWorld(), settings.particleBudgetPerPlayer());
+        displayTicker.start(plugin);
+        particleBudget.start(plugin);
+
+        Logger.info("Started floating item display ticker (" + displayTicker.size() + " active displays).");
     }
 
     /**
-     * Stops all periodic tasks related to floating item displays.
+     * Stops the shared display update task.
      */
     public void stopDisplayTasks() {
-        shopDisplayTasks.values().forEach(BukkitTask::cancel);
-        shopDisplayTasks.clear();
-        Logger.info("Stopped all floating item display update tasks.");
+        displayTicker.stop();
+        particleBudget.stop();
+        Logger.info("Stopped floating item display ticker.");
     }
 
     /**
-     * Starts the rotation and particle effect task for a specific shop's display.
-     * @param shop The ChestShop to start the task for.
-     * @param baseRotationSpeed The base rotation speed for F2P shops.
-     * @param premiumRotationSpeed The enhanced rotation speed for premium shops.
-     * @param tickRate The interval in ticks for updating the display.
+     * Rotates a display and spawns its particle effects. Called by the shared ticker on the display's ticks.
+     * Displays without any player in range are skipped.
+     * @param display The display to update.
      */
-    private void startDisplayTask(ChestShop shop, double baseRotationSpeed, double premiumRotationSpeed, long tickRate) {
-        // Cancel any existing task for this shop to prevent duplicates
-        stopDisplayTask(shop.getId());
-
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            ArmorStand armorStand = shopDisplays.get(shop.getId());
-            if (armorStand == null || !armorStand.isValid()) {
-                // ArmorStand is gone or invalid, stop and remove this task
-                stopDisplayTask(shop.getId());
-                return;
-            }
-
-            // Determine rotation speed based on the shop owner's premium permission
-            double rotationSpeed = baseRotationSpeed;
-            if (shop.getOwnerPlayer() != null && shop.getOwnerPlayer().hasPermission("vortexchestshop.premium.visuals.enhancedrotation")) {
-                rotationSpeed = premiumRotationSpeed;
-            }
+    private void tickDisplay(ActiveDisplay display) {
+        ChestShop shop = display.shop;
+        FloatingDisplay floatingDisplay = display.floatingDisplay;
+        if (!floatingDisplay.isValid()) {
+            // Display is gone or invalid, stop updating it
+            displayTicker.remove(display);
+            return;
+        }
+        if (!viewerCounter.hasViewers(display.worldName, display.chunkKey)) {
+            return; // Nobody is close enough to see it
+        }
+        if (display.visualsPending) {
+            applyPremiumVisuals(display);
+        }
 
-            // Rotate the item around its Y-axis
-            EulerAngle currentHeadPose = armorStand.getHeadPose();
-            EulerAngle newHeadPose = currentHeadPose.setY(currentHeadPose.getY() + rotationSpeed);
-            armorStand.setHeadPose(newHeadPose);
-
-            // Apply particle effects if enabled for premium shops
-            if (shop.getOwnerPlayer() != null &&
-                shop.getOwnerPlayer().hasPermission("vortexchestshop.premium.visuals.particles") &&
-                plugin.getConfig().getBoolean("floating-display.premium-particles-enabled", true)) {
-                Location particleLoc = armorStand.getLocation().add(0, 0.5, 0); // Slightly above the item
-                String particleTypeName = plugin.getConfig().getString("floating-display.premium-particle-type", "SPARKLE");
-                int particleAmount = plugin.getConfig().getInt("floating-display.premium-particle-amount", 5);
-                try {
-                    org.bukkit.Particle particle = org.bukkit.Particle.valueOf(particleTypeName.toUpperCase());
-                    armorStand.getWorld().spawnParticle(particle, particleLoc, particleAmount, 0.1, 0.1, 0.1, 0.01);
-                } catch (IllegalArgumentException e) {
-                    Logger.warning("Invalid particle type specified in config: " + particleTypeName + ". Defaulting to SPARKLE.");
-                }
-            }
+        // Determine rotation speed based on the shop owner's cached premium profile
+        PremiumProfile profile = shop.getPremiumProfile();
+        double rotationSpeed = profile.hasEnhancedRotation() ? premiumRotationSpeed : baseRotationSpeed;
 
-        }, 0L, tickRate); // Start immediately, repeat every 'tickRate' ticks
-        shopDisplayTasks.put(shop.getId(), task);
-    }
+        // Rotate the item around its Y-axis
+        floatingDisplay.rotate(rotationSpeed);
 
-    /**
-     * Stops the rotation task for a specific shop's display.
-     * @param shopId The UUID of the shop whose task should be stopped.
-     */
-    private void stopDisplayTask(UUID shopId) {
-        BukkitTask task = shopDisplayTasks.remove(shopId);
-        if (task != null) {
-            task.cancel();
+        // Request particle effects if enabled for premium shops (the particle is null if disabled or invalid);
+        // the particle budget decides which requests are spawned this tick
+        Settings settings = plugin.getSettings();
+        if (profile.hasParticles() && settings.premiumParticle() != null) {
+            Location particleLoc = floatingDisplay.getLocation().add(0, 0.5, 0); // Slightly above the item
+            particleBudget.request(display.particleEmitter, particleLoc, settings.premiumParticle(), settings.premiumParticleAmount());
         }
     }
 
@@ -267,73 +295,42 @@ public class FloatingItemDisplayManager {
     }
 
     /**
-     * Applies premium visual effects to the ArmorStand using ProtocolLib if available.
-     * This includes making the item glow (glowing outline) and potentially extending its render distance.
-     * @param shop The ChestShop object.
-     * @param armorStand The ArmorStand entity.
+     * @return The budget limiting the display particles, for reporting its statistics.
      */
-    private void applyPremiumVisuals(ChestShop shop, ArmorStand armorStand) {
-        // Check if ProtocolLib is installed and enabled
-        boolean protocolLibAvailable = Bukkit.getPluginManager().getPlugin("ProtocolLib") != null &&
-                                       Bukkit.getPluginManager().getPlugin("ProtocolLib").isEnabled();
-        if (!protocolLibAvailable) {
-            return; // Cannot apply advanced visuals without ProtocolLib
-        }
+    public ParticleBudget getParticleBudget() {
+        return particleBudget;
+    }
 
-        // Get configuration settings for premium visuals
-        boolean glowingConfigEnabled = plugin.getConfig().getBoolean("floating-display.premium-glowing-outline-enabled", true);
-        boolean longRangeConfigEnabled = plugin.getConfig().getBoolean("floating-display.premium-long-range-visibility", true);
-
-        // Determine if the shop owner has premium permissions for these visuals
-        boolean hasGlowingPermission = shop.getOwnerPlayer() != null && shop.getOwnerPlayer().hasPermission("vortexchestshop.premium.visuals.glowingoutline");
-        boolean hasLongRangePermission = shop.getOwnerPlayer() != null && shop.getOwnerPlayer().hasPermission("vortexchestshop.premium.visuals.longrange");
-
-        try {
-            // Create a packet to modify entity metadata
-            PacketContainer packet = ProtocolLibrary.getProtocolManager().createPacket(PacketType.Play.Server.ENTITY_METADATA);
-            packet.getIntegers().write(0, armorStand.getEntityId()); // Set the entity ID
-
-            // Get the current data watcher for the ArmorStand
-            WrappedDataWatcher watcher = new WrappedDataWatcher(armorStand);
-
-            // --- Glowing Outline (Entity Flags - Byte 0, Bit 6) ---
-            // The first byte (index 0) in the data watcher contains a bitmask for various entity flags.
-            // Bit 6 (value 0x40 or 64) controls the glowing effect.
-            byte entityFlags = watcher.getByte(0); // Get current entity flags
-            if (glowingConfigEnabled && hasGlowingPermission) {
-                entityFlags = (byte) (entityFlags | (1 << 6)); // Set bit 6 to enable glowing
-            } else {
-                entityFlags = (byte) (entityFlags & ~(1 << 6)); // Unset bit 6 to disable glowing
-            }
-            // Update the watcher object for entity flags
-            watcher.setObject(new WrappedDataWatcher.WrappedDataWatcherObject(0, WrappedDataWatcher.Registry.get(Byte.class)), entityFlags);
-
-            // --- Long-Range Visibility (Custom Name & Custom Name Visible - Index 2 & 3) ---
-            // A common trick to extend render distance for entities is to give them a custom name
-            // and make that name visible, even if the name is empty. Minecraft's client often
-            // renders entities with visible names from further away.
-            if (longRangeConfigEnabled && hasLongRangePermission) {
-                // Set custom name (empty string, but present)
-                watcher.setObject(new WrappedDataWatcher.WrappedDataWatcherObject(2, WrappedDataWatcher.Registry.getChatComponentSerializer(true)), Optional.of(WrappedChatComponent.fromText("").getHandle()));
-                // Make custom name visible
-                watcher.setObject(new WrappedDataWatcher.WrappedDataWatcherObject(3, WrappedDataWatcher.Registry.get(Boolean.class)), true);
-            } else {
-                // Remove custom name and make it not visible
-                watcher.setObject(new WrappedDataWatcher.WrappedDataWatcherObject(2, WrappedDataWatcher.Registry.getChatComponentSerializer(true)), Optional.empty());
-                watcher.setObject(new WrappedDataWatcher.WrappedDataWatcherObject(3, WrappedDataWatcher.Registry.get(Boolean.class)), false);
-            }
+    /**
+     * Re-applies the premium visual effects of a shop's display after its owner's premium profile changed.
+     * @param shop The ChestShop whose profile changed.
+     */
+    public void refreshPremiumVisuals(ChestShop shop) {
+        ActiveDisplay display = shopDisplays.get(shop.getId());
+        if (display != null) {
+            applyPremiumVisuals(display);
+        }
+    }
 
-            // Set the modified data watcher to the packet
-            packet.getWatchableCollections().write(0, watcher.getWatchableObjects());
+    /**
+     * Applies premium visual effects to a display: a glowing outline and long-range visibility,
+     * depending on the config and the shop owner's cached premium profile.
+     * If no player is in range, the update is deferred until one comes close.
+     * @param display The shop's display.
+     */
+    private void applyPremiumVisuals(ActiveDisplay display) {
+        if (!viewerCounter.hasViewers(display.worldName, display.chunkKey)) {
+            display.visualsPending = true;
+            return;
+        }
+        display.visualsPending = false;
+        ChestShop shop = display.shop;
 
-            // Send the packet to all online players to update their client's view of the ArmorStand
-            for (org.bukkit.entity.Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-                ProtocolLibrary.getProtocolManager().sendServerPacket(onlinePlayer, packet);
-            }
+        // Get configuration settings for premium visuals
+        boolean glowingConfigEnabled = plugin.getSettings().premiumGlowingOutline();
+        boolean longRangeConfigEnabled = plugin.getSettings().premiumLongRange();
 
-        } catch (Exception e) {
-            Logger.severe("Failed to apply premium visual effects using ProtocolLib for shop " + shop.getId() + ": " + e.getMessage());
-            e.printStackTrace();
-        }
+        PremiumProfile profile = shop.getPremiumProfile();
+        display.floatingDisplay.setVisualFlags(glowingConfigEnabled && profile.hasGlowingOutline(), longRangeConfigEnabled && profile.hasLongRange());
     }
-                              }
+}
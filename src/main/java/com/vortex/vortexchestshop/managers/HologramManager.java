@@ -3,18 +3,24 @@
 package com.vortex.vortexchestshop.managers;
 
 import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.config.Settings;
+import com.vortex.vortexchestshop.display.DecentHologramsBackend;
+import com.vortex.vortexchestshop.display.HologramBackend;
+import com.vortex.vortexchestshop.display.ShopHologram;
+import com.vortex.vortexchestshop.display.TextDisplayHologramBackend;
 import com.vortex.vortexchestshop.models.ChestShop;
 import com.vortex.vortexchestshop.utils.Logger;
 import me.clip.placeholderapi.PlaceholderAPI; // PlaceholderAPI import
-import eu.decentsoftware.holograms.api.DHAPI; // DecentHolograms API main class
-import eu.decentsoftware.holograms.api.holograms.Hologram; // DecentHolograms Hologram class
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor; // Still useful for translating config messages if needed elsewhere
 import org.bukkit.Location;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack; // Added for getItemDisplayName
 import org.bukkit.inventory.meta.ItemMeta; // Added for getItemDisplayName
+import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -24,33 +30,150 @@ public class HologramManager {
 
     private final VortexChestShop plugin;
     // Map to store active holograms, keyed by shop UUID
-    private final Map<UUID, Hologram> activeHolograms;
-    // Flag to indicate if DecentHolograms is available
-    private boolean decentHologramsAvailable = false;
+    private final Map<UUID, ShopHologram> activeHolograms;
+    // Rendered lines per shop, reused until the shop's item, price, quantity or stock change
+    private final Map<UUID, RenderedLines> renderCache;
+    // Lines last pushed to each hologram, to skip identical updates
+    private final Map<UUID, List<String>> pushedLines;
+    // Creates the holograms, selected by hologram-text.backend; null if no backend is available
+    private final HologramBackend backend;
+    private final boolean placeholderApiAvailable;
+    // Shops whose current lines contain PlaceholderAPI results, refreshed by placeholderRefreshTask
+    private final Map<UUID, ChestShop> placeholderShops;
+    private BukkitTask placeholderRefreshTask;
+    // Whether the hologram formats of the last seen Settings snapshot contain PlaceholderAPI placeholders
+    private volatile PlaceholderCheck placeholderCheck;
+
+    /**
+     * The result of scanning a Settings snapshot's hologram formats for PlaceholderAPI placeholders.
+     */
+    private static final class PlaceholderCheck {
+        private final Settings settings;
+        private final boolean formatsHavePlaceholders;
+
+        private PlaceholderCheck(Settings settings, boolean formatsHavePlaceholders) {
+            this.settings = settings;
+            this.formatsHavePlaceholders = formatsHavePlaceholders;
+        }
+    }
+
+    /**
+     * The rendered lines of a shop's hologram and the shop state they were rendered from.
+     */
+    private static final class RenderedLines {
+        private final ItemStack item;
+        private final double price;
+        private final int quantity;
+        private final int stock;
+        private final Settings settings;
+        private final long expiresAt; // Placeholder results are re-resolved after this time (millis)
+        private final List<String> lines;
+
+        private RenderedLines(ChestShop shop, Settings settings, long expiresAt, List<String> lines) {
+            this.item = shop.getSoldItem();
+            this.price = shop.getPrice();
+            this.quantity = shop.getQuantity();
+            this.stock = shop.getCurrentStock();
+            this.settings = settings;
+            this.expiresAt = expiresAt;
+            this.lines = lines;
+        }
+
+        private boolean isValidFor(ChestShop shop, Settings currentSettings, long now) {
+            return item == shop.getSoldItem() && price == shop.getPrice() && quantity == shop.getQuantity()
+                    && stock == shop.getCurrentStock() && settings == currentSettings && now < expiresAt;
+        }
+    }
 
     public HologramManager(VortexChestShop plugin) {
         this.plugin = plugin;
         this.activeHolograms = new ConcurrentHashMap<>();
+        this.renderCache = new ConcurrentHashMap<>();
+        this.pushedLines = new ConcurrentHashMap<>();
+        this.placeholderShops = new ConcurrentHashMap<>();
+        this.placeholderApiAvailable = Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null;
 
-        // Attempt to hook into DecentHolograms
-        if (Bukkit.getPluginManager().getPlugin("DecentHolograms") != null &&
-            Bukkit.getPluginManager().getPlugin("DecentHolograms").isEnabled()) {
-            this.decentHologramsAvailable = true;
-            Logger.info("DecentHolograms hook successful.");
+        this.backend = createBackend();
+        if (backend != null) {
+            Logger.info("Using " + backend.getName() + " holograms.");
         } else {
-            Logger.warning("DecentHolograms not found or not enabled. Holograms will not be displayed.");
-            this.decentHologramsAvailable = false;
+            Logger.warning("Neither ProtocolLib (with Minecraft 1.19.4+) nor DecentHolograms is available. Holograms will not be displayed.");
         }
     }
 
     /**
-     * Creates a hologram for a given ChestShop using DecentHolograms API.
+     * Creates the hologram backend configured by hologram-text.backend.
+     * Falls back to the other backend if the configured backend's requirements are missing.
+     * @return The hologram backend to use, or null if neither backend can be used.
+     */
+    private HologramBackend createBackend() {
+        boolean textDisplaySupported = TextDisplayHologramBackend.isSupported() && isPluginEnabled("ProtocolLib");
+        boolean decentHologramsAvailable = isPluginEnabled("DecentHolograms");
+        String type = plugin.getSettings().hologramBackend();
+        if (type.equalsIgnoreCase("DECENT_HOLOGRAMS")) {
+            if (decentHologramsAvailable) {
+                return new DecentHologramsBackend();
+            }
+            Logger.warning("The DECENT_HOLOGRAMS hologram backend requires DecentHolograms. Trying TextDisplay holograms instead.");
+        } else if (!type.equalsIgnoreCase("TEXT_DISPLAY")) {
+            Logger.warning("Unknown hologram backend '" + type + "'. Using TextDisplay holograms.");
+        }
+        if (textDisplaySupported) {
+            return new TextDisplayHologramBackend(plugin);
+        }
+        if (decentHologramsAvailable) {
+            Logger.warning("TextDisplay holograms require ProtocolLib and Minecraft 1.19.4 or newer. Falling back to DecentHolograms.");
+            return new DecentHologramsBackend();
+        }
+        return null;
+    }
+
+    /**
+     * Starts (or restarts with the current interval) the task that re-resolves PlaceholderAPI results.
+     * Every hologram-text.placeholder-refresh-interval ticks, shops whose lines contain placeholder results are
+     * queued on the {@link ShopUpdateQueue}, so their holograms update even if the shop itself does not change.
+     * The task is not started if the hologram formats contain no placeholders.
+     */
+    public void startPlaceholderRefresh() {
+        stopPlaceholderRefresh();
+        if (backend == null || !formatsHavePlaceholders(plugin.getSettings())) {
+            return;
+        }
+        long interval = plugin.getSettings().hologramPlaceholderRefreshTicks();
+        placeholderRefreshTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            for (ChestShop shop : placeholderShops.values()) {
+                renderCache.remove(shop.getId()); // Render again even if the cached lines expire a moment later
+                shop.refreshHologram();
+            }
+        }, interval, interval);
+    }
+
+    /**
+     * Stops the placeholder refresh task.
+     */
+    public void stopPlaceholderRefresh() {
+        if (placeholderRefreshTask != null) {
+            placeholderRefreshTask.cancel();
+            placeholderRefreshTask = null;
+        }
+    }
+
+    private static boolean isPluginEnabled(String name) {
+        return Bukkit.getPluginManager().getPlugin(name) != null && Bukkit.getPluginManager().getPlugin(name).isEnabled();
+    }
+
+    /**
+     * Creates a hologram for a given ChestShop using the configured backend.
      * @param shop The ChestShop to create a hologram for.
      */
     public void createHologram(ChestShop shop) {
-        // Do not create if DecentHolograms is not available, holograms are disabled in config,
+        // Do not create if no hologram backend is available, holograms are disabled in config,
         // or if the shop has no stock (unless you want to show "Out of Stock" hologram).
-        if (!decentHologramsAvailable || !plugin.getConfig().getBoolean("hologram-text.enabled", true) || shop.getCurrentStock() <= 0) {
+        if (backend == null || !plugin.getSettings().hologramsEnabled() || shop.getCurrentStock() <= 0) {
+            return;
+        }
+        // Holograms only exist in loaded chunks; it is created when the chunk loads
+        if (!plugin.getShopManager().isShopLoaded(shop)) {
             return;
         }
         // If a hologram already exists for this shop, update it instead
@@ -60,16 +183,14 @@ public class HologramManager {
         }
 
         Location hologramLocation = getHologramLocation(shop.getLocation());
-        String hologramName = "VCS_Shop_" + shop.getId().toString(); // Unique name for the hologram
 
         List<String> lines = getHologramLines(shop);
 
         try {
-            // Create and spawn the hologram using DHAPI
-            Hologram hologram = DHAPI.createHologram(hologramName, hologramLocation);
-            DHAPI.setHologramLines(hologram, lines); // Set all lines at once
+            ShopHologram hologram = backend.create(shop, hologramLocation, lines);
 
             activeHolograms.put(shop.getId(), hologram);
+            pushedLines.put(shop.getId(), lines);
             Logger.debug("Created hologram for shop " + shop.getId() + " at " + hologramLocation.toString());
         } catch (Exception e) {
             Logger.severe("Failed to create hologram for shop " + shop.getId() + ": " + e.getMessage());
@@ -78,25 +199,29 @@ public class HologramManager {
     }
 
     /**
-     * Updates an existing hologram for a given ChestShop using DecentHolograms API.
+     * Updates an existing hologram for a given ChestShop.
      * @param shop The ChestShop to update.
      */
     public void updateHologram(ChestShop shop) {
-        // If DecentHolograms is not available, holograms are disabled, or stock is zero, ensure it's removed
-        if (!decentHologramsAvailable || !plugin.getConfig().getBoolean("hologram-text.enabled", true) || shop.getCurrentStock() <= 0) {
+        // If no hologram backend is available, holograms are disabled, or stock is zero, ensure it's removed
+        if (backend == null || !plugin.getSettings().hologramsEnabled() || shop.getCurrentStock() <= 0) {
             removeHologram(shop);
             return;
         }
 
-        Hologram hologram = activeHolograms.get(shop.getId());
+        ShopHologram hologram = activeHolograms.get(shop.getId());
         if (hologram == null) {
             createHologram(shop); // Create if it doesn't exist yet
             return;
         }
 
         List<String> newLines = getHologramLines(shop);
+        if (newLines.equals(pushedLines.get(shop.getId()))) {
+            return; // The hologram already shows these lines
+        }
         try {
-            DHAPI.setHologramLines(hologram, newLines); // Update all lines at once
+            hologram.setLines(newLines); // Update all lines at once
+            pushedLines.put(shop.getId(), newLines);
             Logger.debug("Updated hologram for shop " + shop.getId());
         } catch (Exception e) {
             Logger.severe("Failed to update hologram for shop " + shop.getId() + ": " + e.getMessage());
@@ -105,53 +230,93 @@ public class HologramManager {
     }
 
     /**
-     * Removes a hologram for a given ChestShop using DecentHolograms API.
+     * Removes a hologram for a given ChestShop.
      * @param shop The ChestShop to remove the hologram for.
      */
     public void removeHologram(ChestShop shop) {
-        if (!decentHologramsAvailable) return; // Cannot remove if DH is not available
+        if (backend == null) return; // Nothing was created without a backend
 
-        Hologram hologram = activeHolograms.remove(shop.getId());
+        ShopHologram hologram = activeHolograms.remove(shop.getId());
+        pushedLines.remove(shop.getId());
+        renderCache.remove(shop.getId());
+        placeholderShops.remove(shop.getId());
         if (hologram != null) {
             try {
-                DHAPI.removeHologram(hologram.getName()); // Remove by name
+                hologram.remove();
                 Logger.debug("Removed hologram for shop " + shop.getId());
             } catch (Exception e) {
-                Logger.severe("Failed to remove hologram " + hologram.getName() + ": " + e.getMessage());
+                Logger.severe("Failed to remove hologram for shop " + shop.getId() + ": " + e.getMessage());
                 e.printStackTrace();
             }
         }
     }
 
     /**
-     * Cleans up all active holograms managed by this plugin using DecentHolograms API.
+     * Cleans up all active holograms managed by this plugin and releases the backend.
      * Called on plugin disable to prevent lingering holograms.
      */
     public void cleanupAllHolograms() {
-        if (!decentHologramsAvailable) return;
-        for (Hologram hologram : activeHolograms.values()) {
-            if (hologram != null) {
-                try {
-                    DHAPI.removeHologram(hologram.getName());
-                } catch (Exception e) {
-                    Logger.severe("Failed to cleanup hologram " + hologram.getName() + ": " + e.getMessage());
-                    e.printStackTrace();
-                }
+        stopPlaceholderRefresh();
+        if (backend == null) return;
+        for (Map.Entry<UUID, ShopHologram> entry : activeHolograms.entrySet()) {
+            try {
+                entry.getValue().remove();
+            } catch (Exception e) {
+                Logger.severe("Failed to cleanup hologram for shop " + entry.getKey() + ": " + e.getMessage());
+                e.printStackTrace();
             }
         }
+        backend.shutdown();
         activeHolograms.clear();
+        pushedLines.clear();
+        renderCache.clear();
+        placeholderShops.clear();
         Logger.info("Cleaned up all holograms.");
     }
 
     /**
-     * Generates the lines of text for a shop's hologram, applying PlaceholderAPI if available.
+     * Checks whether the hologram formats contain PlaceholderAPI placeholders. The formats are scanned once per
+     * Settings snapshot; without PlaceholderAPI, or without placeholders, holograms skip PlaceholderAPI entirely.
+     * @param settings The current settings.
+     * @return true if PlaceholderAPI is available and the formats contain placeholders.
+     */
+    private boolean formatsHavePlaceholders(Settings settings) {
+        if (!placeholderApiAvailable) {
+            return false;
+        }
+        PlaceholderCheck check = placeholderCheck;
+        if (check == null || check.settings != settings) {
+            check = new PlaceholderCheck(settings, containsPlaceholders(settings.hologramItemNameFormat())
+                    || containsPlaceholders(settings.hologramPriceFormat()));
+            placeholderCheck = check;
+        }
+        return check.formatsHavePlaceholders;
+    }
+
+    private static boolean containsPlaceholders(String format) {
+        // The hologram's own %item_display_name% and %price% tokens look like placeholders too
+        return PlaceholderAPI.containsPlaceholders(format.replace("%item_display_name%", "").replace("%price%", ""));
+    }
+
+    /**
+     * Gets the lines of text for a shop's hologram, applying PlaceholderAPI if available.
+     * Lines are rendered again only when the shop's item, price, quantity or stock or the settings changed;
+     * lines containing PlaceholderAPI results are also rendered again after hologram-text.placeholder-refresh-interval,
+     * at the latest by the task started with {@link #startPlaceholderRefresh()}.
      * @param shop The ChestShop object.
-     * @return A list of formatted strings for the hologram lines.
+     * @return An unmodifiable list of formatted strings for the hologram lines.
      */
     private List<String> getHologramLines(ChestShop shop) {
-        List<String> lines = new ArrayList<>();
-        String itemNameFormat = plugin.getConfig().getString("hologram-text.item-name-format", "&b%item_display_name%");
-        String priceFormat = plugin.getConfig().getString("hologram-text.price-format", "&aPrice: &e$%price% each");
+        Settings settings = plugin.getSettings();
+        long now = System.currentTimeMillis();
+        RenderedLines cached = renderCache.get(shop.getId());
+        if (cached != null && cached.isValidFor(shop, settings, now)) {
+            return cached.lines;
+        }
+
+        List<String> lines = new ArrayList<>(2);
+        String itemNameFormat = settings.hologramItemNameFormat();
+        String priceFormat = settings.hologramPriceFormat();
 
         String itemDisplayName = getItemDisplayName(shop.getSoldItem());
         String itemNameLine = itemNameFormat.replace("%item_display_name%", itemDisplayName);
@@ -159,13 +324,20 @@ public class HologramManager {
         String formattedPrice = String.format("%,.2f", shop.getPrice());
         String priceLine = priceFormat.replace("%price%", formattedPrice);
 
-        // Apply PlaceholderAPI if available and the owner is online
-        if (Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null && shop.getOwnerPlayer() != null) {
-            itemNameLine = PlaceholderAPI.setPlaceholders(shop.getOwnerPlayer(), itemNameLine);
-            priceLine = PlaceholderAPI.setPlaceholders(shop.getOwnerPlayer(), priceLine);
+        // Apply PlaceholderAPI if available, the formats use it and the owner is online
+        long expiresAt = Long.MAX_VALUE;
+        Player owner = formatsHavePlaceholders(settings) ? shop.getOwnerPlayer() : null;
+        if (owner != null) {
+            itemNameLine = PlaceholderAPI.setPlaceholders(owner, itemNameLine);
+            priceLine = PlaceholderAPI.setPlaceholders(owner, priceLine);
+            // Placeholder values can change on their own; only reuse them for a while
+            expiresAt = now + settings.hologramPlaceholderRefreshTicks() * 50L;
+            placeholderShops.put(shop.getId(), shop);
+        } else {
+            placeholderShops.remove(shop.getId());
         }
 
-        // DecentHolograms automatically handles Bukkit color codes, so no need for ChatColor.translateAlternateColorCodes here
+        // Both hologram backends translate '&' color codes themselves, so no need for ChatColor.translateAlternateColorCodes here
         // if you configure your messages in config.yml with '&' codes.
         lines.add(itemNameLine);
         lines.add(priceLine);
@@ -175,6 +347,8 @@ public class HologramManager {
         //     lines.add("&7Stock: &f" + shop.getCurrentStock());
         // }
 
+        lines = Collections.unmodifiableList(lines);
+        renderCache.put(shop.getId(), new RenderedLines(shop, settings, expiresAt, lines));
         return lines;
     }
 
@@ -184,7 +358,7 @@ public class HologramManager {
      * @return The Location for the Hologram.
      */
     private Location getHologramLocation(Location chestLocation) {
-        double yOffset = plugin.getConfig().getDouble("hologram-text.y-offset", 0.5);
+        double yOffset = plugin.getSettings().hologramYOffset();
         // Adjust Y-coordinate to be below the floating item and above the chest, centered horizontally
         return chestLocation.clone().add(0.5, yOffset, 0.5); // X+0.5, Z+0.5 for center
     }
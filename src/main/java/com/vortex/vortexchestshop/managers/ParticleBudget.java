@@ -0,0 +1,248 @@
+// src/main/java/com/vortex/vortexchestshop/managers/ParticleBudget.java
+
+package com.vortex.vortexchestshop.managers;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.utils.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Limits the number of display particles spawned per tick, per world and per player.
+ * <p>
+ * Displays request particles instead of spawning them; once per tick the requests are granted until a world's
+ * budget is used up. Each granted request is sent only to the nearby players who still have budget left. When
+ * there are more requests than budget, emitters closer to a player go first, and every tick an emitter is skipped
+ * raises its priority, so distant shops still emit in turn (round-robin by aging).
+ * <p>
+ * How often the budget is saturated is collected over intervals of {@value #REPORT_INTERVAL_TICKS} ticks. The last
+ * complete interval is shown by /shop admin status and, if the budget was saturated, logged in debug mode.
+ */
+public class ParticleBudget implements Runnable {
+
+    // Particles are visible up to this distance on the client (without the force flag)
+    private static final double PARTICLE_RANGE_SQUARED = 32 * 32;
+    private static final int REPORT_INTERVAL_TICKS = 1200;
+
+    /**
+     * A source of particles (e.g., one display). Tracks how long it has been waiting for budget.
+     */
+    public static final class Emitter {
+        private int skippedTicks;
+    }
+
+    /**
+     * A request for particles at a location, made during the current tick.
+     */
+    private static final class Request {
+        private final Emitter emitter;
+        private final Location location;
+        private final Particle particle;
+        private final int amount;
+        private final List<Player> nearbyPlayers = new ArrayList<>(4);
+        private double priority; // Lower is served first
+
+        private Request(Emitter emitter, Location location, Particle particle, int amount) {
+            this.emitter = emitter;
+            this.location = location;
+            this.particle = particle;
+            this.amount = amount;
+        }
+    }
+
+    // World UID -> requests made this tick; worlds without requests for a tick are dropped
+    private final Map<UUID, List<Request>> requestsByWorld;
+    private final Map<UUID, int[]> playerUsage;
+    private int perWorldBudget;
+    private int perPlayerBudget;
+    private BukkitTask task;
+
+    // Saturation statistics for the current report interval
+    private int ticks;
+    private int saturatedTicks;
+    private long requested;
+    private long dropped;
+    // Saturation statistics of the last complete report interval
+    private int lastSaturatedTicks = -1;
+    private long lastRequested;
+    private long lastDropped;
+
+    public ParticleBudget() {
+        this.requestsByWorld = new HashMap<>();
+        this.playerUsage = new HashMap<>();
+    }
+
+    /**
+     * Sets the budgets.
+     * @param perWorldBudget The maximum number of particles spawned per tick in one world.
+     * @param perPlayerBudget The maximum number of particles sent to one player per tick.
+     */
+    public void setBudgets(int perWorldBudget, int perPlayerBudget) {
+        this.perWorldBudget = Math.max(0, perWorldBudget);
+        this.perPlayerBudget = Math.max(0, perPlayerBudget);
+    }
+
+    /**
+     * Starts granting requests every tick, replacing any previously started task.
+     * @param plugin The plugin to schedule the task for.
+     */
+    public void start(VortexChestShop plugin) {
+        stop();
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+    }
+
+    /**
+     * Stops the task and drops pending requests.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        requestsByWorld.clear();
+    }
+
+    /**
+     * Requests particles at a location. They are spawned on the next budget pass if budget is left.
+     * @param emitter The requesting emitter.
+     * @param location Where to spawn the particles.
+     * @param particle The particle type.
+     * @param amount The number of particles.
+     */
+    public void request(Emitter emitter, Location location, Particle particle, int amount) {
+        requestsByWorld.computeIfAbsent(location.getWorld().getUID(), id -> new ArrayList<>())
+                .add(new Request(emitter, location, particle, amount));
+    }
+
+    @Override
+    public void run() {
+        boolean saturated = false;
+        Iterator<List<Request>> iterator = requestsByWorld.values().iterator();
+        while (iterator.hasNext()) {
+            List<Request> requests = iterator.next();
+            if (requests.isEmpty()) {
+                iterator.remove(); // No requests for a whole tick, e.g. the world was unloaded
+                continue;
+            }
+            saturated |= grant(requests.get(0).location.getWorld(), requests);
+            requests.clear();
+        }
+        playerUsage.clear();
+
+        ticks++;
+        if (saturated) {
+            saturatedTicks++;
+        }
+        if (ticks >= REPORT_INTERVAL_TICKS) {
+            lastSaturatedTicks = saturatedTicks;
+            lastRequested = requested;
+            lastDropped = dropped;
+            if (saturatedTicks > 0) {
+                Logger.debug("Particle budget saturated in " + saturatedTicks + " of " + ticks + " ticks; dropped "
+                        + dropped + " of " + requested + " particle requests.");
+            }
+            ticks = 0;
+            saturatedTicks = 0;
+            requested = 0;
+            dropped = 0;
+        }
+    }
+
+    /**
+     * Grants the requests of one world in priority order.
+     * @return true if any request was dropped for lack of budget.
+     */
+    private boolean grant(World world, List<Request> requests) {
+        List<Player> players = world.getPlayers();
+        Location[] playerLocations = new Location[players.size()];
+        for (int i = 0; i < playerLocations.length; i++) {
+            playerLocations[i] = players.get(i).getLocation();
+        }
+        int totalAmount = 0;
+        for (Request request : requests) {
+            double nearest = Double.MAX_VALUE;
+            for (int i = 0; i < playerLocations.length; i++) {
+                double distanceSquared = playerLocations[i].distanceSquared(request.location);
+                if (distanceSquared <= PARTICLE_RANGE_SQUARED) {
+                    request.nearbyPlayers.add(players.get(i));
+                }
+                nearest = Math.min(nearest, distanceSquared);
+            }
+            // Every skipped tick halves, thirds, ... the effective distance
+            request.priority = nearest / (1 + request.emitter.skippedTicks);
+            totalAmount += request.amount;
+        }
+        requested += requests.size();
+        if (totalAmount > perWorldBudget) {
+            requests.sort((a, b) -> Double.compare(a.priority, b.priority));
+        }
+
+        boolean saturated = false;
+        int worldRemaining = perWorldBudget;
+        for (Request request : requests) {
+            boolean sent = false;
+            if (request.amount <= worldRemaining) {
+                for (Player player : request.nearbyPlayers) {
+                    int[] used = playerUsage.computeIfAbsent(player.getUniqueId(), id -> new int[1]);
+                    if (used[0] + request.amount > perPlayerBudget) {
+                        saturated = true;
+                        continue; // This player has had enough particles this tick
+                    }
+                    used[0] += request.amount;
+                    player.spawnParticle(request.particle, request.location, request.amount, 0.1, 0.1, 0.1, 0.01);
+                    sent = true;
+                }
+            } else {
+                saturated = true;
+            }
+            if (sent) {
+                worldRemaining -= request.amount;
+                request.emitter.skippedTicks = 0;
+            } else if (!request.nearbyPlayers.isEmpty()) {
+                request.emitter.skippedTicks++;
+                dropped++;
+            }
+        }
+        return saturated;
+    }
+
+    /**
+     * @return The length of a report interval in ticks.
+     */
+    public int getReportIntervalTicks() {
+        return REPORT_INTERVAL_TICKS;
+    }
+
+    /**
+     * @return The number of ticks in the last complete report interval in which the budget was saturated,
+     * or -1 if no interval has completed yet.
+     */
+    public int getLastSaturatedTicks() {
+        return lastSaturatedTicks;
+    }
+
+    /**
+     * @return The number of particle requests made in the last complete report interval.
+     */
+    public long getLastRequested() {
+        return lastRequested;
+    }
+
+    /**
+     * @return The number of particle requests dropped for lack of budget in the last complete report interval.
+     */
+    public long getLastDropped() {
+        return lastDropped;
+    }
+}
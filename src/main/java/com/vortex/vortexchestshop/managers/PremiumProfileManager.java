@@ -0,0 +1,122 @@
+// src/main/java/com/vortex/vortexchestshop/managers/PremiumProfileManager.java
+
+package com.vortex.vortexchestshop.managers;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.models.ChestShop;
+import com.vortex.vortexchestshop.models.PremiumProfile;
+import com.vortex.vortexchestshop.utils.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resolves the premium visual profiles of shop owners and keeps the copies stored on their shops current.
+ * <p>
+ * Profiles are resolved when an owner joins, cleared when they quit, and re-resolved every
+ * performance.premium-refresh-interval ticks to pick up permission changes. Bukkit has no event for
+ * permission changes, so that interval bounds how long a granted or revoked perk takes to show.
+ * All methods must be called from the main thread.
+ */
+public class PremiumProfileManager {
+
+    private final VortexChestShop plugin;
+    // Profiles of online players, resolved on demand
+    private final Map<UUID, PremiumProfile> profiles;
+    private BukkitTask refreshTask;
+
+    public PremiumProfileManager(VortexChestShop plugin) {
+        this.plugin = plugin;
+        this.profiles = new HashMap<>();
+    }
+
+    /**
+     * Gets the current profile of a shop owner.
+     * @param ownerUUID The owner's UUID.
+     * @return The owner's profile, or {@link PremiumProfile#NONE} if they are offline.
+     */
+    public PremiumProfile getProfile(UUID ownerUUID) {
+        PremiumProfile profile = profiles.get(ownerUUID);
+        if (profile == null) {
+            Player owner = Bukkit.getPlayer(ownerUUID);
+            if (owner == null) {
+                return PremiumProfile.NONE;
+            }
+            profile = PremiumProfile.resolve(owner);
+            profiles.put(ownerUUID, profile);
+        }
+        return profile;
+    }
+
+    /**
+     * Stores the owner's current profile on a shop. Called for new and loaded shops before their display is created.
+     * @param shop The shop.
+     */
+    public void applyProfile(ChestShop shop) {
+        shop.setPremiumProfile(getProfile(shop.getOwnerUUID()));
+    }
+
+    /**
+     * Re-resolves a player's profile and updates their shops if it changed.
+     * @param player The player.
+     */
+    public void refresh(Player player) {
+        PremiumProfile profile = PremiumProfile.resolve(player);
+        PremiumProfile previous = profiles.put(player.getUniqueId(), profile);
+        if (!profile.equals(previous)) {
+            updateShops(player.getUniqueId(), profile);
+        }
+    }
+
+    /**
+     * Drops a player's profile when they go offline; their shops lose their premium visuals.
+     * @param playerUUID The player's UUID.
+     */
+    public void clear(UUID playerUUID) {
+        PremiumProfile previous = profiles.remove(playerUUID);
+        if (previous != null && previous != PremiumProfile.NONE) {
+            updateShops(playerUUID, PremiumProfile.NONE);
+        }
+    }
+
+    private void updateShops(UUID ownerUUID, PremiumProfile profile) {
+        for (ChestShop shop : plugin.getShopManager().getPlayerShops(ownerUUID)) {
+            shop.setPremiumProfile(profile);
+            plugin.getFloatingItemDisplayManager().refreshPremiumVisuals(shop);
+        }
+        Logger.debug("Updated premium profile of " + ownerUUID + ".");
+    }
+
+    /**
+     * Resolves the profiles of all online players and starts the periodic refresh task.
+     */
+    public void start() {
+        stop();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            refresh(player);
+        }
+        long interval = plugin.getSettings().premiumRefreshInterval();
+        refreshTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                // Only shop owners have visuals that depend on the profile
+                if (plugin.getShopManager().getPlayerShopCount(player.getUniqueId()) > 0) {
+                    refresh(player);
+                }
+            }
+        }, interval, interval);
+    }
+
+    /**
+     * Stops the periodic refresh task.
+     */
+    public void stop() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+    }
+}
@@ -0,0 +1,484 @@
+// src/main/java/com/vortex/vortexchestshop/managers/PurchasePipeline.java
+
+package com.vortex.vortexchestshop.managers;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.models.ChestShop;
+import com.vortex.vortexchestshop.storage.TransactionLedger;
+import com.vortex.vortexchestshop.utils.InventoryUtil;
+import com.vortex.vortexchestshop.utils.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Chest;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs purchases with the Vault calls off the main thread (economy.async-transactions), for economy providers
+ * that are thread-safe but slow, e.g., database-backed ones.
+ * <p>
+ * A purchase moves through these states:
+ * <ul>
+ *     <li>RESERVED (main thread): the reservation is recorded in the ledger, then the items are taken out of the
+ *     chest and the shop's stock is lowered, so no other buyer can get them while the payment runs.</li>
+ *     <li>PAID or FAILED (economy thread): the buyer's balance is checked, the cost withdrawn and the owner's share
+ *     deposited, with the same ledger stages as a synchronous purchase.</li>
+ *     <li>COMMITTED or ROLLED_BACK (main thread): paid items go to the buyer and the rest back into the chest.
+ *     If the buyer left in the meantime, the payment is refunded on the economy thread.</li>
+ * </ul>
+ * Economy calls run on a single thread, so purchases are paid for in the order they were made. A player can
+ * have one purchase in flight at a time. Items returned to a shop whose chunk has unloaded in the meantime are
+ * held until the chunk loads again, instead of loading it on the main thread.
+ */
+public class PurchasePipeline {
+
+    public enum State { RESERVED, PAID, FAILED, COMMITTED, ROLLED_BACK }
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    /**
+     * A purchase in flight. Fields written on the economy thread are read on the main thread only after the
+     * purchase has passed through the completion queue.
+     */
+    private static final class Purchase {
+        private final Player buyer;
+        private final ChestShop shop;
+        private final OfflinePlayer owner;
+        private final UUID transactionId;
+        private final List<ItemStack> reserved;
+        private final int transactions;
+        private final int quantity;
+        private final double price;
+        private final double taxPerTransaction;
+        private State state = State.RESERVED;
+        // Set on the economy thread
+        private int paidTransactions;
+        private double totalCost;
+        private double taxAmount;
+        private String failureMessage; // Message key sent to the buyer if the payment failed
+        private String failurePrice;
+
+        private Purchase(Player buyer, ChestShop shop, OfflinePlayer owner, UUID transactionId, List<ItemStack> reserved,
+                         int transactions, double taxPerTransaction) {
+            this.buyer = buyer;
+            this.shop = shop;
+            this.owner = owner;
+            this.transactionId = transactionId;
+            this.reserved = reserved;
+            this.transactions = transactions;
+            this.quantity = shop.getQuantity();
+            this.price = shop.getPrice();
+            this.taxPerTransaction = taxPerTransaction;
+        }
+    }
+
+    private final VortexChestShop plugin;
+    private final Set<UUID> pendingBuyers;
+    private final Queue<Purchase> completed;
+    // Items to return to shops whose chunk was unloaded when their purchase completed. Main thread only.
+    private final Map<ChestShop, List<ItemStack>> pendingReturns;
+    private ExecutorService executor;
+    private boolean drainScheduled; // Guarded by completed
+
+    public PurchasePipeline(VortexChestShop plugin) {
+        this.plugin = plugin;
+        this.pendingBuyers = new HashSet<>();
+        this.completed = new ConcurrentLinkedQueue<>();
+        this.pendingReturns = new HashMap<>();
+    }
+
+    /**
+     * Reserves the items of a purchase and hands the payment to the economy thread.
+     * The stock and inventory space checks must already have been done on the main thread.
+     * @param buyer The buying player.
+     * @param shop The shop being bought from.
+     * @param chest The shop's chest.
+     * @param transactions The number of transactions to buy at most; fewer are bought if the buyer cannot afford them.
+     */
+    public void submit(Player buyer, ChestShop shop, Chest chest, int transactions) {
+        if (!pendingBuyers.add(buyer.getUniqueId())) {
+            plugin.getMessageService().send(buyer, "purchase-pending");
+            return;
+        }
+
+        // Reserve the items by taking them out of the chest. The reservation is recorded first and reaches the disk
+        // with this tick's group commit, long before the emptied chest is saved with its chunk.
+        int totalItems = transactions * shop.getQuantity();
+        TransactionLedger ledger = plugin.getShopManager().getLedger();
+        UUID transactionId = ledger.reservePurchase(shop, buyer.getUniqueId(), totalItems);
+        List<ItemStack> reserved = new ArrayList<>();
+        int reservedCount = InventoryUtil.takeItems(chest.getInventory(), shop, totalItems, reserved);
+        if (reservedCount < totalItems) {
+            // The tracked stock was wrong; put the items back and recount the chest
+            InventoryUtil.putItems(chest.getInventory(), reserved, chest.getLocation());
+            ledger.recordPurchaseStage(transactionId, TransactionLedger.PURCHASE_ROLLBACK);
+            pendingBuyers.remove(buyer.getUniqueId());
+            plugin.getShopManager().getStockTracker().requestRecount(shop);
+            plugin.getMessageService().send(buyer, "shop-inactive");
+            return;
+        }
+        plugin.getShopManager().getStockTracker().applyDelta(shop, -reservedCount);
+
+        // Permissions can only be checked on the main thread; tax is linear in the cost
+        OfflinePlayer owner = Bukkit.getOfflinePlayer(shop.getOwnerUUID());
+        double taxPerTransaction = plugin.getEconomyManager().calculateTax(owner, shop.getPrice());
+        Purchase purchase = new Purchase(buyer, shop, owner, transactionId, reserved, transactions, taxPerTransaction);
+        getExecutor().execute(() -> pay(purchase));
+    }
+
+    /**
+     * Waits for the payments in flight and completes them. Called on the main thread when the plugin is disabled.
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    Logger.severe("Economy transactions did not finish within " + SHUTDOWN_TIMEOUT_SECONDS
+                            + " seconds. Unfinished purchases are reported by the ledger on the next start.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+        drain();
+        // The server is stopping, so loading the chunks of held items no longer stalls anyone
+        for (Map.Entry<ChestShop, List<ItemStack>> entry : pendingReturns.entrySet()) {
+            Location location = entry.getKey().getLocation();
+            if (location.isWorldLoaded()) {
+                putBack(entry.getKey(), location, entry.getValue());
+            } else {
+                Logger.severe("Reserved items could not be returned to the shop at " + location + " because its world is unloaded.");
+            }
+        }
+        pendingReturns.clear();
+    }
+
+    /**
+     * Returns held items to the shops inside a chunk that has just loaded.
+     * @param chunkWorld The world of the chunk.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     */
+    public void handleChunkLoad(World chunkWorld, int chunkX, int chunkZ) {
+        if (pendingReturns.isEmpty()) {
+            return;
+        }
+        Iterator<Map.Entry<ChestShop, List<ItemStack>>> iterator = pendingReturns.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<ChestShop, List<ItemStack>> entry = iterator.next();
+            Location location = entry.getKey().getLocation();
+            if (location.getBlockX() >> 4 == chunkX && location.getBlockZ() >> 4 == chunkZ
+                    && location.isWorldLoaded() && location.getWorld() == chunkWorld) {
+                iterator.remove();
+                putBack(entry.getKey(), location, entry.getValue());
+            }
+        }
+    }
+
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "VortexChestShop-Economy");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    // --- Economy thread ---
+
+    private void pay(Purchase purchase) {
+        TransactionLedger ledger = plugin.getShopManager().getLedger();
+        // Set once BEGIN is recorded and once the buyer has been charged, so an exception can be handled accordingly
+        boolean begun = false;
+        boolean withdrawn = false;
+        try {
+            EconomyManager economy = plugin.getEconomyManager();
+            int affordable;
+            if (purchase.transactions == 1) {
+                affordable = economy.has(purchase.buyer, purchase.price) ? 1 : 0;
+            } else {
+                affordable = (int) Math.min(purchase.transactions, Math.floor(economy.getBalance(purchase.buyer) / purchase.price));
+            }
+            if (affordable <= 0) {
+                purchase.failurePrice = String.format("%,.2f", purchase.price);
+                ledger.recordPurchaseStage(purchase.transactionId, TransactionLedger.PURCHASE_ROLLBACK);
+                fail(purchase, "purchase-not-enough-money");
+                return;
+            }
+
+            purchase.totalCost = purchase.price * affordable;
+            purchase.taxAmount = purchase.taxPerTransaction * affordable;
+            double ownerReceiveAmount = purchase.totalCost - purchase.taxAmount;
+
+            // Record the purchase in the ledger and force it to disk before any money moves, so a crash can be reconciled
+            ledger.beginReservedPurchase(purchase.transactionId, purchase.shop, purchase.buyer.getUniqueId(),
+                    affordable * purchase.quantity, purchase.totalCost, purchase.taxAmount);
+            begun = true;
+            if (!ledger.commit()) {
+                ledger.recordPurchaseStage(purchase.transactionId, TransactionLedger.PURCHASE_ROLLBACK);
+                fail(purchase, "purchase-not-recorded");
+                return;
+            }
+
+            if (!economy.withdraw(purchase.buyer, purchase.totalCost)) {
+                ledger.recordPurchaseStage(purchase.transactionId, TransactionLedger.PURCHASE_ROLLBACK);
+                fail(purchase, "purchase-withdraw-failed");
+                return;
+            }
+            withdrawn = true;
+            ledger.recordPurchaseStage(purchase.transactionId, TransactionLedger.PURCHASE_WITHDRAWN);
+
+            if (!economy.deposit(purchase.owner, ownerReceiveAmount)) {
+                // If owner deposit failed, refund the buyer's money
+                economy.deposit(purchase.buyer, purchase.totalCost);
+                ledger.recordPurchaseStage(purchase.transactionId, TransactionLedger.PURCHASE_ROLLBACK);
+                fail(purchase, "purchase-owner-deposit-failed");
+                Logger.severe("Failed to deposit money to shop owner " + purchase.shop.getOwnerUUID() + " for shop at "
+                        + purchase.shop.getLocation() + ". Buyer " + purchase.buyer.getName() + " was refunded.");
+                return;
+            }
+            purchase.paidTransactions = affordable;
+            purchase.state = State.PAID;
+        } catch (Exception e) {
+            Logger.severe("Economy transaction for " + purchase.buyer.getName() + " failed: " + e.getMessage());
+            e.printStackTrace();
+            if (purchase.state == State.RESERVED) {
+                if (withdrawn) {
+                    refundAfterError(purchase);
+                } else {
+                    if (!begun) {
+                        // No money can have moved; the items go back into the chest
+                        ledger.recordPurchaseStage(purchase.transactionId, TransactionLedger.PURCHASE_ROLLBACK);
+                    }
+                    fail(purchase, "purchase-withdraw-failed");
+                }
+            }
+        } finally {
+            complete(purchase);
+        }
+    }
+
+    /**
+     * Refunds a buyer who was charged before the owner deposit threw, and rolls the purchase back.
+     */
+    private void refundAfterError(Purchase purchase) {
+        TransactionLedger ledger = plugin.getShopManager().getLedger();
+        try {
+            plugin.getEconomyManager().deposit(purchase.buyer, purchase.totalCost);
+            ledger.recordPurchaseStage(purchase.transactionId, TransactionLedger.PURCHASE_ROLLBACK);
+            Logger.severe("Buyer " + purchase.buyer.getName() + " was refunded " + purchase.totalCost
+                    + " for the failed purchase at " + purchase.shop.getLocation() + ".");
+        } catch (Exception e) {
+            // Leave the purchase at its WITHDRAWN stage, so it is reported for reconciliation on the next start
+            Logger.severe("Failed to refund " + purchase.totalCost + " to " + purchase.buyer.getName()
+                    + " (transaction " + purchase.transactionId + "): " + e.getMessage());
+            e.printStackTrace();
+        }
+        fail(purchase, "purchase-owner-deposit-failed");
+    }
+
+    private void fail(Purchase purchase, String messageKey) {
+        purchase.state = State.FAILED;
+        purchase.failureMessage = messageKey;
+    }
+
+    /**
+     * Queues a paid or failed purchase for completion on the main thread.
+     */
+    private void complete(Purchase purchase) {
+        completed.add(purchase);
+        synchronized (completed) {
+            if (drainScheduled || !plugin.isEnabled()) {
+                return; // Already scheduled, or drained by shutdown()
+            }
+            drainScheduled = true;
+        }
+        Bukkit.getScheduler().runTask(plugin, this::drain);
+    }
+
+    /**
+     * Refunds a paid purchase whose items could not be handed over. If the refund cannot be completed, the purchase
+     * is left unresolved in the ledger, so it is reported for reconciliation on the next start.
+     */
+    private void refund(Purchase purchase) {
+        EconomyManager economy = plugin.getEconomyManager();
+        TransactionLedger ledger = plugin.getShopManager().getLedger();
+        double ownerShare = purchase.totalCost - purchase.taxAmount;
+        try {
+            if (!economy.deposit(purchase.buyer, purchase.totalCost)) {
+                // Leave the purchase at its WITHDRAWN stage; the owner keeps the payment until it is reconciled
+                Logger.severe("Failed to refund " + purchase.totalCost + " to " + purchase.buyer.getName()
+                        + " (transaction " + purchase.transactionId + ") after they left. The items were returned to the shop.");
+                return;
+            }
+            if (!economy.withdraw(purchase.owner, ownerShare)) {
+                ledger.recordPurchaseStage(purchase.transactionId, TransactionLedger.PURCHASE_BUYER_REFUNDED);
+                Logger.severe("Refunded " + purchase.buyer.getName() + " after they left, but failed to take back " + ownerShare
+                        + " from shop owner " + purchase.shop.getOwnerUUID() + " (transaction " + purchase.transactionId + ").");
+                return;
+            }
+            ledger.recordPurchaseStage(purchase.transactionId, TransactionLedger.PURCHASE_ROLLBACK);
+            Logger.info("Refunded purchase of " + purchase.buyer.getName() + " at " + purchase.shop.getLocation() + " after they left.");
+        } catch (Exception e) {
+            // Leave the purchase at its last recorded stage, so it is reported for reconciliation on the next start
+            Logger.severe("Failed to refund the purchase of " + purchase.buyer.getName()
+                    + " (transaction " + purchase.transactionId + "): " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // --- Main thread ---
+
+    private void drain() {
+        synchronized (completed) {
+            drainScheduled = false;
+        }
+        Purchase purchase;
+        while ((purchase = completed.poll()) != null) {
+            try {
+                finish(purchase);
+            } catch (Exception e) {
+                Logger.severe("Failed to complete purchase of " + purchase.buyer.getName() + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void finish(Purchase purchase) {
+        pendingBuyers.remove(purchase.buyer.getUniqueId());
+
+        if (purchase.state == State.PAID && !purchase.buyer.isOnline()) {
+            // Items given to a player who left would be lost; undo the payment instead
+            if (executor != null && !executor.isShutdown()) {
+                executor.execute(() -> refund(purchase));
+            } else {
+                refund(purchase);
+            }
+            returnItems(purchase, purchase.reserved);
+            purchase.state = State.ROLLED_BACK;
+            return;
+        }
+
+        if (purchase.state != State.PAID) {
+            returnItems(purchase, purchase.reserved);
+            purchase.state = State.ROLLED_BACK;
+            if (purchase.buyer.isOnline()) {
+                if (purchase.failurePrice != null) {
+                    plugin.getMessageService().send(purchase.buyer, purchase.failureMessage, "price", purchase.failurePrice);
+                } else {
+                    plugin.getMessageService().send(purchase.buyer, purchase.failureMessage);
+                }
+            }
+            return;
+        }
+
+        // Hand over the paid items; return the reserved items the buyer could not afford
+        int paidItems = purchase.paidTransactions * purchase.quantity;
+        List<ItemStack> excess = new ArrayList<>();
+        int remaining = paidItems;
+        for (ItemStack stack : purchase.reserved) {
+            int given = Math.min(remaining, stack.getAmount());
+            if (given > 0) {
+                InventoryUtil.giveItems(purchase.buyer, stack, given);
+                remaining -= given;
+            }
+            if (given < stack.getAmount()) {
+                ItemStack rest = stack.clone();
+                rest.setAmount(stack.getAmount() - given);
+                excess.add(rest);
+            }
+        }
+        if (!excess.isEmpty()) {
+            returnItems(purchase, excess);
+        }
+        plugin.getShopManager().getLedger().recordPurchaseStage(purchase.transactionId, TransactionLedger.PURCHASE_COMMIT);
+        purchase.state = State.COMMITTED;
+
+        // Send confirmation message to the buyer
+        String boughtAmount = String.valueOf(paidItems);
+        String itemName = getItemDisplayName(purchase.shop.getSoldItem());
+        plugin.getMessageService().send(purchase.buyer, "purchase-success",
+                "quantity", boughtAmount, "item_name", itemName, "price", String.format("%,.2f", purchase.totalCost));
+
+        // Notify owner (if online)
+        Player ownerPlayer = purchase.shop.getOwnerPlayer();
+        if (ownerPlayer != null && ownerPlayer.isOnline()) {
+            Location location = purchase.shop.getLocation();
+            plugin.getMessageService().send(ownerPlayer, "purchase-owner-notify",
+                    "player", purchase.buyer.getName(), "quantity", boughtAmount, "item_name", itemName,
+                    "x", String.valueOf(location.getBlockX()),
+                    "y", String.valueOf(location.getBlockY()),
+                    "z", String.valueOf(location.getBlockZ()),
+                    "amount", String.format("%,.2f", purchase.totalCost - purchase.taxAmount),
+                    "tax", String.format("%,.2f", purchase.taxAmount));
+        }
+    }
+
+    /**
+     * Puts reserved items back into the shop's chest and its stock. If the shop's chunk is unloaded, the items
+     * are held until it loads again (see {@link #handleChunkLoad}).
+     */
+    private void returnItems(Purchase purchase, List<ItemStack> items) {
+        Location location = purchase.shop.getLocation();
+        if (!location.isWorldLoaded() || !location.getWorld().isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
+            pendingReturns.computeIfAbsent(purchase.shop, shop -> new ArrayList<>()).addAll(items);
+            return;
+        }
+        putBack(purchase.shop, location, items);
+    }
+
+    /**
+     * Puts items back into a shop's chest and its stock. If the shop or its chest is gone, the items are dropped
+     * where the chest was. The chunk at the location must be loaded.
+     */
+    private void putBack(ChestShop shop, Location location, List<ItemStack> items) {
+        BlockState state = location.getBlock().getState();
+        if (state instanceof Chest && plugin.getShopManager().getShopAtLocation(location) == shop) {
+            InventoryUtil.putItems(((Chest) state).getInventory(), items, location);
+            int amount = 0;
+            for (ItemStack item : items) {
+                amount += item.getAmount();
+            }
+            plugin.getShopManager().getStockTracker().applyDelta(shop, amount);
+        } else {
+            for (ItemStack item : items) {
+                location.getWorld().dropItemNaturally(location, item);
+            }
+        }
+    }
+
+    /**
+     * Helper method to get the display name of an ItemStack.
+     * @param item The ItemStack.
+     * @return The display name or default name.
+     */
+    private String getItemDisplayName(ItemStack item) {
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null && meta.hasDisplayName()) {
+            return meta.getDisplayName();
+        }
+        return item.getType().name().replace("_", " ").toLowerCase();
+    }
+}
@@ -0,0 +1,239 @@
+// src/main/java/com/vortex/vortexchestshop/managers/ShopIndex.java
+
+package com.vortex.vortexchestshop.managers;
+
+import com.vortex.vortexchestshop.models.ChestShop;
+import com.vortex.vortexchestshop.utils.BlockKey;
+import com.vortex.vortexchestshop.utils.LongObjectMap;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spatial index of active shops, grouped by world, chunk and block.
+ * <p>
+ * Each world is resolved to a small integer ID and holds two primitive long-keyed maps: one from packed
+ * block coordinates to the shop at that block, and one from packed chunk coordinates to the shops in that
+ * chunk. Both lookups are constant time and allocate nothing. The index also tracks which shops are in
+ * currently loaded chunks, so periodic tasks can skip shops nobody can see, and keeps an owner index so
+ * per-player counts and listings do not depend on the total number of shops.
+ * <p>
+ * Adding and removing shops is synchronized so every map is updated together. The location maps are only
+ * read from the main thread; the shop sets are concurrent so callers may remove shops while iterating them.
+ */
+public class ShopIndex {
+
+    // World name -> small integer ID, used to index worlds
+    private final Map<String, Integer> worldIds;
+    private final List<WorldShops> worlds;
+    // All indexed shops by ID
+    private final Map<UUID, ChestShop> allShops;
+    // Shops whose chunk is currently loaded
+    private final Set<ChestShop> loadedShops;
+    // Owner UUID -> shops owned by that player
+    private final Map<UUID, Set<ChestShop>> shopsByOwner;
+
+    /**
+     * The block and chunk maps of a single world.
+     */
+    private static class WorldShops {
+        private final LongObjectMap<ChestShop> byBlock = new LongObjectMap<>();
+        private final LongObjectMap<List<ChestShop>> byChunk = new LongObjectMap<>();
+    }
+
+    public ShopIndex() {
+        this.worldIds = new HashMap<>();
+        this.worlds = new ArrayList<>();
+        this.allShops = new ConcurrentHashMap<>();
+        this.loadedShops = ConcurrentHashMap.newKeySet();
+        this.shopsByOwner = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Adds a shop to the index. The shop counts as loaded if its chunk is currently loaded.
+     * @param shop The shop to add.
+     */
+    public synchronized void add(ChestShop shop) {
+        Location location = shop.getLocation();
+        World world = location.getWorld();
+        Integer worldId = worldIds.get(world.getName());
+        if (worldId == null) {
+            worldId = worlds.size();
+            worldIds.put(world.getName(), worldId);
+            worlds.add(new WorldShops());
+        }
+        WorldShops worldShops = worlds.get(worldId);
+
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+        long chunkKey = BlockKey.packChunk(chunkX, chunkZ);
+        List<ChestShop> chunkShops = worldShops.byChunk.get(chunkKey);
+        if (chunkShops == null) {
+            chunkShops = new ArrayList<>(1);
+            worldShops.byChunk.put(chunkKey, chunkShops);
+        }
+
+        ChestShop previous = worldShops.byBlock.put(blockKey(location), shop);
+        if (previous != null) {
+            chunkShops.remove(previous);
+            allShops.remove(previous.getId());
+            loadedShops.remove(previous);
+            removeOwned(previous);
+        }
+        chunkShops.add(shop);
+        allShops.put(shop.getId(), shop);
+        shopsByOwner.computeIfAbsent(shop.getOwnerUUID(), owner -> ConcurrentHashMap.newKeySet()).add(shop);
+        if (world.isChunkLoaded(chunkX, chunkZ)) {
+            loadedShops.add(shop);
+        }
+    }
+
+    /**
+     * Removes the shop at a location from the index.
+     * @param location The location of the shop.
+     * @return The removed shop, or null if there was no shop at the location.
+     */
+    public synchronized ChestShop remove(Location location) {
+        WorldShops worldShops = getWorld(location.getWorld());
+        if (worldShops == null) {
+            return null;
+        }
+        ChestShop shop = worldShops.byBlock.remove(blockKey(location));
+        if (shop == null) {
+            return null;
+        }
+        long chunkKey = BlockKey.packChunk(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        List<ChestShop> chunkShops = worldShops.byChunk.get(chunkKey);
+        if (chunkShops != null) {
+            chunkShops.remove(shop);
+            if (chunkShops.isEmpty()) {
+                worldShops.byChunk.remove(chunkKey);
+            }
+        }
+        allShops.remove(shop.getId());
+        loadedShops.remove(shop);
+        removeOwned(shop);
+        return shop;
+    }
+
+    private void removeOwned(ChestShop shop) {
+        shopsByOwner.computeIfPresent(shop.getOwnerUUID(), (owner, owned) -> {
+            owned.remove(shop);
+            return owned.isEmpty() ? null : owned;
+        });
+    }
+
+    /**
+     * Gets the shop at a block location without allocating.
+     * @param location The location of the chest.
+     * @return The shop, or null if there is none.
+     */
+    public ChestShop get(Location location) {
+        if (location == null) {
+            return null;
+        }
+        WorldShops worldShops = getWorld(location.getWorld());
+        return worldShops != null ? worldShops.byBlock.get(blockKey(location)) : null;
+    }
+
+    /**
+     * Gets the shops in a chunk.
+     * @param world The world of the chunk.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     * @return A read-only list of the shops in the chunk; empty if there are none.
+     */
+    public List<ChestShop> getShopsInChunk(World world, int chunkX, int chunkZ) {
+        WorldShops worldShops = getWorld(world);
+        if (worldShops == null) {
+            return Collections.emptyList();
+        }
+        List<ChestShop> chunkShops = worldShops.byChunk.get(BlockKey.packChunk(chunkX, chunkZ));
+        return chunkShops != null ? Collections.unmodifiableList(chunkShops) : Collections.emptyList();
+    }
+
+    /**
+     * Marks the shops in a chunk as loaded.
+     * @return A copy of the shops in the chunk, so callers may remove shops while iterating it.
+     */
+    public List<ChestShop> markChunkLoaded(World world, int chunkX, int chunkZ) {
+        List<ChestShop> chunkShops = new ArrayList<>(getShopsInChunk(world, chunkX, chunkZ));
+        loadedShops.addAll(chunkShops);
+        return chunkShops;
+    }
+
+    /**
+     * Marks the shops in a chunk as unloaded.
+     * @return A copy of the shops in the chunk, so callers may remove shops while iterating it.
+     */
+    public List<ChestShop> markChunkUnloaded(World world, int chunkX, int chunkZ) {
+        List<ChestShop> chunkShops = new ArrayList<>(getShopsInChunk(world, chunkX, chunkZ));
+        chunkShops.forEach(loadedShops::remove);
+        return chunkShops;
+    }
+
+    /**
+     * @return A read-only view of every indexed shop.
+     */
+    public Collection<ChestShop> getAll() {
+        return Collections.unmodifiableCollection(allShops.values());
+    }
+
+    /**
+     * @return A read-only view of the shops whose chunk is currently loaded.
+     */
+    public Collection<ChestShop> getLoaded() {
+        return Collections.unmodifiableSet(loadedShops);
+    }
+
+    /**
+     * @param shop The shop to check.
+     * @return true if the shop is indexed and its chunk is loaded.
+     */
+    public boolean isLoaded(ChestShop shop) {
+        return loadedShops.contains(shop);
+    }
+
+    /**
+     * @param ownerUUID The UUID of the owner.
+     * @return A read-only view of the shops owned by the player; empty if they own none.
+     */
+    public Collection<ChestShop> getByOwner(UUID ownerUUID) {
+        Set<ChestShop> owned = shopsByOwner.get(ownerUUID);
+        return owned != null ? Collections.unmodifiableSet(owned) : Collections.emptySet();
+    }
+
+    /**
+     * @param ownerUUID The UUID of the owner.
+     * @return The number of shops owned by the player.
+     */
+    public int countByOwner(UUID ownerUUID) {
+        Set<ChestShop> owned = shopsByOwner.get(ownerUUID);
+        return owned != null ? owned.size() : 0;
+    }
+
+    public int size() {
+        return allShops.size();
+    }
+
+    private WorldShops getWorld(World world) {
+        if (world == null) {
+            return null;
+        }
+        Integer worldId = worldIds.get(world.getName());
+        return worldId != null ? worlds.get(worldId) : null;
+    }
+
+    private static long blockKey(Location location) {
+        return BlockKey.pack(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+}
@@ -4,32 +4,78 @@ package com.vortex.vortexchestshop.managers;
 
 import com.vortex.vortexchestshop.VortexChestShop;
 import com.vortex.vortexchestshop.models.ChestShop;
+import com.vortex.vortexchestshop.storage.BinaryShopRepository;
+import com.vortex.vortexchestshop.storage.ShopDataMigrator;
+import com.vortex.vortexchestshop.storage.ShopRecord;
+import com.vortex.vortexchestshop.storage.ShopRepository;
+import com.vortex.vortexchestshop.storage.ShopWriteQueue;
+import com.vortex.vortexchestshop.storage.SqliteShopRepository;
+import com.vortex.vortexchestshop.storage.TransactionLedger;
 import com.vortex.vortexchestshop.utils.Logger;
 import org.bukkit.Bukkit; // Added for Bukkit.getWorld
+import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.Chest;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.ChatColor; // Added for ChatColor
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap; // For thread-safe map
 
 public class ShopManager {
 
     private final VortexChestShop plugin;
-    // Map to store active shops: Location (serialized string) -> ChestShop object
-    // Using ConcurrentHashMap for thread-safe access if multiple threads interact
-    public final Map<String, ChestShop> activeShops;
+    // Active shops, indexed by world, chunk and block
+    private final ShopIndex shopIndex;
+    // Keeps shop stock up to date from inventory events
+    private final StockTracker stockTracker;
+    // Persistence backend selected by storage.type, kept separate from config.yml so config reloads never touch shop data
+    private final ShopRepository repository;
+    // Append-only ledger of shop changes and purchases, replayed on startup after a crash
+    private final TransactionLedger ledger;
+    // Write-behind queue that persists shop changes off the main thread
+    private final ShopWriteQueue writeQueue;
+    // Names of worlds whose shops have already been loaded
+    private final Set<String> loadedWorlds;
 
     public ShopManager(VortexChestShop plugin) {
         this.plugin = plugin;
-        this.activeShops = new ConcurrentHashMap<>();
+        this.shopIndex = new ShopIndex();
+        this.stockTracker = new StockTracker(plugin, this);
+        this.loadedWorlds = new HashSet<>();
+        this.repository = createRepository();
+        this.ledger = new TransactionLedger(plugin);
+        this.ledger.start();
+        this.writeQueue = new ShopWriteQueue(plugin, repository, ledger);
+        this.writeQueue.start();
+    }
+
+    /**
+     * Creates the shop repository configured by storage.type.
+     * Falls back to the binary store if the SQLite database cannot be opened.
+     * @return The shop repository to use.
+     */
+    private ShopRepository createRepository() {
+        String type = plugin.getConfig().getString("storage.type", "BINARY");
+        if (type.equalsIgnoreCase("SQLITE")) {
+            try {
+                ShopRepository sqliteRepository = new SqliteShopRepository(new File(plugin.getDataFolder(), "shops.db"));
+                Logger.info("Using SQLite shop storage (shops.db).");
+                return sqliteRepository;
+            } catch (IOException e) {
+                Logger.severe("Failed to open SQLite shop storage: " + e.getMessage() + ". Falling back to shops.dat.");
+            }
+        } else if (!type.equalsIgnoreCase("BINARY")) {
+            Logger.warning("Unknown storage type '" + type + "'. Using shops.dat.");
+        }
+        return new BinaryShopRepository(new File(plugin.getDataFolder(), "shops.dat"));
     }
 
     /**
@@ -42,19 +88,16 @@ public class ShopManager {
      * @return The created ChestShop object, or null if creation failed (e.g., shop limit, shop already exists).
      */
     public ChestShop createShop(Player player, Location location, ItemStack itemStack, double price, int quantity) {
-        String prefix = ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.prefix"));
-
         // Check if a shop already exists at this location
         if (getShopAtLocation(location) != null) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.error-shop-exists")));
+            plugin.getMessageService().send(player, "error-shop-exists");
             Logger.info("Player " + player.getName() + " attempted to create shop at existing shop location: " + location.toString());
             return null;
         }
 
         // Check player's shop limit
         if (!canCreateShop(player)) {
-            player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.shop-limit-reached")
-                            .replace("%limit%", String.valueOf(getPlayerShopLimit(player)))));
+            plugin.getMessageService().send(player, "shop-limit-reached", "limit", String.valueOf(getPlayerShopLimit(player)));
             Logger.info("Player " + player.getName() + " reached shop limit (" + getPlayerShopCount(player.getUniqueId()) + "/" + getPlayerShopLimit(player) + ")");
             return null;
         }
@@ -67,16 +110,17 @@ public class ShopManager {
                 itemStack,
                 price,
                 quantity,
-                plugin.getConfig().getBoolean("shop-settings.default-floating-display-enabled", true) // Default display status from config
+                plugin.getSettings().defaultDisplayEnabled() // Default display status from config
         );
-        activeShops.put(serializeLocation(location), shop);
-        saveShop(shop); // Save the new shop to config immediately
+        plugin.getPremiumProfileManager().applyProfile(shop);
+        shopIndex.add(shop);
+        saveShop(shop); // Queue the new shop to be written to disk
 
         // Update initial stock and create displays
         updateShopStock(shop); // This will also create the floating display and hologram if enabled
         plugin.getFloatingItemDisplayManager().createDisplay(shop); // Ensure display is created/updated
 
-        player.sendMessage(prefix + ChatColor.translateAlternateColorCodes('&', plugin.getConfig().getString("messages.shop-created")));
+        plugin.getMessageService().send(player, "shop-created");
         Logger.info("Player " + player.getName() + " created a shop at " + location.toString() + " (ID: " + shop.getId() + ")");
         return shop;
     }
@@ -87,13 +131,12 @@ public class ShopManager {
      * @return true if the shop was removed, false if not found.
      */
     public boolean removeShop(Location location) {
-        String serializedLoc = serializeLocation(location);
-        if (activeShops.containsKey(serializedLoc)) {
-            ChestShop shop = activeShops.remove(serializedLoc);
+        ChestShop shop = shopIndex.remove(location);
+        if (shop != null) {
             // Remove associated floating item display and hologram
             plugin.getFloatingItemDisplayManager().removeDisplay(shop);
             plugin.getHologramManager().removeHologram(shop);
-            deleteShop(shop); // Delete from config
+            deleteShop(shop); // Queue deletion from disk
             Logger.info("Removed shop at " + location.toString() + " (ID: " + shop.getId() + ")");
             return true;
         }
@@ -107,7 +150,72 @@ public class ShopManager {
      * @return The ChestShop object, or null if no shop exists at that location.
      */
     public ChestShop getShopAtLocation(Location location) {
-        return activeShops.get(serializeLocation(location));
+        return shopIndex.get(location);
+    }
+
+    /**
+     * Gets all active shops.
+     * The returned view is read-only and reflects later changes; shops may be removed while iterating it.
+     * @return All active shops.
+     */
+    public Collection<ChestShop> getShops() {
+        return shopIndex.getAll();
+    }
+
+    /**
+     * Gets the active shops whose chunk is currently loaded.
+     * Periodic tasks should iterate these instead of every shop.
+     * @return A read-only view of the shops in loaded chunks.
+     */
+    public Collection<ChestShop> getLoadedShops() {
+        return shopIndex.getLoaded();
+    }
+
+    /**
+     * Checks whether a shop is still active and its chunk is loaded.
+     * @param shop The shop to check.
+     * @return true if the shop is active and in a loaded chunk.
+     */
+    public boolean isShopLoaded(ChestShop shop) {
+        return shopIndex.isLoaded(shop);
+    }
+
+    /**
+     * Gets the shops inside a chunk.
+     * @param world The world of the chunk.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     * @return A read-only list of the shops in the chunk.
+     */
+    public List<ChestShop> getShopsInChunk(World world, int chunkX, int chunkZ) {
+        return shopIndex.getShopsInChunk(world, chunkX, chunkZ);
+    }
+
+    /**
+     * Called when a chunk is loaded. Checks that the shops inside it are still chests, recounts their stock
+     * and spawns their displays and holograms.
+     * @param chunk The loaded chunk.
+     */
+    public void handleChunkLoad(Chunk chunk) {
+        for (ChestShop shop : shopIndex.markChunkLoaded(chunk.getWorld(), chunk.getX(), chunk.getZ())) {
+            updateShopStock(shop); // Also removes the shop if its chest is gone
+            if (shopIndex.isLoaded(shop)) {
+                plugin.getFloatingItemDisplayManager().createDisplay(shop);
+                plugin.getHologramManager().createHologram(shop);
+            }
+        }
+    }
+
+    /**
+     * Called when a chunk is unloaded. Removes the displays and holograms of the shops inside it.
+     * Their stock keeps its last counted value until the chunk loads again.
+     * @param chunk The chunk being unloaded.
+     */
+    public void handleChunkUnload(Chunk chunk) {
+        for (ChestShop shop : shopIndex.markChunkUnloaded(chunk.getWorld(), chunk.getX(), chunk.getZ())) {
+            plugin.getFloatingItemDisplayManager().unloadDisplay(shop);
+            plugin.getHologramManager().removeHologram(shop);
+        }
     }
 
     /**
@@ -116,9 +224,16 @@ public class ShopManager {
      * @return The count of shops owned by the player.
      */
     public int getPlayerShopCount(UUID playerUUID) {
-        return (int) activeShops.values().stream()
-                .filter(shop -> shop.getOwnerUUID().equals(playerUUID))
-                .count();
+        return shopIndex.countByOwner(playerUUID);
+    }
+
+    /**
+     * Gets the shops a player currently owns.
+     * @param playerUUID The UUID of the player.
+     * @return A read-only view of the player's shops.
+     */
+    public Collection<ChestShop> getPlayerShops(UUID playerUUID) {
+        return shopIndex.getByOwner(playerUUID);
     }
 
     /**
@@ -144,7 +259,7 @@ public class ShopManager {
      */
     public int getPlayerShopLimit(Player player) {
         // Start with F2P base limit from config
-        int limit = plugin.getConfig().getInt("shop-settings.f2p-max-shops", 5);
+        int limit = plugin.getSettings().f2pMaxShops();
 
         // Check for permission-based limits (LuckPerms integration would go here)
         // Example permissions:
@@ -178,6 +293,10 @@ public class ShopManager {
      * @param shop The ChestShop object to update.
      */
     public void updateShopStock(ChestShop shop) {
+        // Reading the block would load the chunk; shops in unloaded chunks keep their last known stock
+        if (!shopIndex.isLoaded(shop)) {
+            return;
+        }
         Block block = shop.getLocation().getBlock();
         // Ensure the block is still a chest
         if (block.getState() instanceof Chest) {
@@ -185,8 +304,8 @@ public class ShopManager {
             int currentStock = 0;
             // Iterate through chest inventory to count items matching the sold item
             for (ItemStack item : chest.getInventory().getContents()) {
-                // Use isSimilar to match item type, name, lore, enchantments, etc.
-                if (item != null && item.isSimilar(shop.getSoldItem())) {
+                // Match item type, name, lore, enchantments, etc., rejecting most slots by fingerprint alone
+                if (shop.matchesSoldItem(item)) {
                     currentStock += item.getAmount();
                 }
             }
@@ -204,159 +323,142 @@ public class ShopManager {
     }
 
     /**
-     * Loads all shops from the plugin's configuration file (`config.yml`).
-     * This is a basic implementation for persistence. For large servers, a database (e.g., SQLite, MySQL)
-     * is highly recommended for better performance and scalability.
+     * Loads the shops of every loaded world from the configured repository.
+     * On first start after upgrading, shops stored in the legacy 'shops' section of config.yml
+     * are migrated into the repository before loading. When switching from shops.dat to SQLite,
+     * existing shops are imported into the new database. Changes recorded in the ledger but not yet
+     * written to the repository (e.g., after a crash) are replayed before loading.
      */
     public void loadShops() {
-        FileConfiguration config = plugin.getConfig();
-        ConfigurationSection shopsSection = config.getConfigurationSection("shops");
-        if (shopsSection == null) {
-            Logger.info("No shops found in config.yml to load.");
+        ShopDataMigrator migrator = new ShopDataMigrator(plugin, repository);
+        migrator.migrateLegacyYaml();
+        if (repository instanceof SqliteShopRepository) {
+            migrator.importFrom(new BinaryShopRepository(new File(plugin.getDataFolder(), "shops.dat")), "shops.dat");
+        }
+        ledger.recover(repository);
+
+        for (World world : Bukkit.getWorlds()) {
+            loadWorldShops(world);
+        }
+    }
+
+    /**
+     * Loads the shops of a single world using the repository's per-world query.
+     * Called for every world on startup and for worlds loaded later on.
+     * @param world The world to load shops for.
+     */
+    public void loadWorldShops(World world) {
+        if (!loadedWorlds.add(world.getName())) {
+            return; // Already loaded
+        }
+
+        List<ShopRecord> records;
+        try {
+            records = repository.loadWorld(world.getName());
+        } catch (IOException e) {
+            Logger.severe("Failed to load shops for world " + world.getName() + ": " + e.getMessage() + ". Stored shop data will not be overwritten.");
+            e.printStackTrace();
             return;
         }
 
         int loadedCount = 0;
-        for (String shopIdString : shopsSection.getKeys(false)) {
-            ConfigurationSection shopData = shopsSection.getConfigurationSection(shopIdString);
-            if (shopData == null) {
-                Logger.warning("Skipping empty shop data section for ID: " + shopIdString);
-                continue;
-            }
-
+        for (ShopRecord record : records) {
             try {
-                UUID id = UUID.fromString(shopIdString);
-                UUID ownerUUID = UUID.fromString(shopData.getString("ownerUUID"));
-                Location location = deserializeLocation(shopData.getString("location"));
-                ItemStack soldItem = shopData.getItemStack("soldItem");
-                double price = shopData.getDouble("price");
-                int quantity = shopData.getInt("quantity");
-                boolean displayEnabled = shopData.getBoolean("displayEnabled", true);
-
                 // Basic validation for loaded data
-                if (location == null || soldItem == null || location.getWorld() == null) {
-                    Logger.warning("Skipping invalid shop data for ID: " + shopIdString + " (missing location, world, or item).");
+                if (record.getSoldItem() == null) {
+                    Logger.warning("Skipping invalid shop data for ID: " + record.getId() + " (missing item).");
                     continue;
                 }
-                // Ensure the chest block actually exists at the location
-                if (!(location.getBlock().getState() instanceof Chest)) {
-                    Logger.warning("Shop at " + location.toString() + " (ID: " + shopIdString + ") is not a chest. Skipping loading and marking for removal.");
-                    // Optionally, remove this entry from config if it's invalid
-                    config.set("shops." + shopIdString, null);
+                Location location = new Location(world, record.getX(), record.getY(), record.getZ());
+                // Ensure the chest block actually exists at the location. Shops in unloaded chunks are checked
+                // when their chunk loads, so loading shops never loads chunks.
+                if (world.isChunkLoaded(record.getX() >> 4, record.getZ() >> 4) && !(location.getBlock().getState() instanceof Chest)) {
+                    Logger.warning("Shop at " + location.toString() + " (ID: " + record.getId() + ") is not a chest. Skipping loading and marking for removal.");
+                    // Remove this entry from storage on the next flush
+                    writeQueue.markDeleted(record.getId());
                     continue;
                 }
 
-                ChestShop shop = new ChestShop(id, ownerUUID, location, soldItem, price, quantity, displayEnabled);
-                activeShops.put(serializeLocation(location), shop);
-                // Immediately update stock and create displays upon loading
+                ChestShop shop = new ChestShop(record.getId(), record.getOwnerUUID(), location, record.getSoldItem(),
+                        record.getPrice(), record.getQuantity(), record.isDisplayEnabled());
+                plugin.getPremiumProfileManager().applyProfile(shop);
+                shopIndex.add(shop);
+                // Update stock and create displays if the chunk is loaded; otherwise this happens when it loads
                 updateShopStock(shop);
                 loadedCount++;
-            } catch (IllegalArgumentException e) {
-                Logger.severe("Failed to parse UUID for shop " + shopIdString + ": " + e.getMessage() + ". Skipping.");
             } catch (Exception e) {
-                Logger.severe("Failed to load shop " + shopIdString + ": " + e.getMessage());
+                Logger.severe("Failed to load shop " + record.getId() + ": " + e.getMessage());
                 e.printStackTrace();
             }
         }
-        plugin.saveConfig(); // Save to remove any invalid entries marked for removal
-        Logger.info("Loaded " + loadedCount + " shops from config.yml.");
+        Logger.info("Loaded " + loadedCount + " shops in world " + world.getName() + ".");
     }
 
     /**
-     * Saves all currently active shops to the plugin's configuration file.
-     * This method rewrites the entire 'shops' section.
+     * Gets the shop repository for indexed queries (owner counts, per-world loads, item searches).
+     * Queries perform I/O and should be run off the main thread.
+     * @return The configured shop repository.
      */
-    public void saveShops() {
-        FileConfiguration config = plugin.getConfig();
-        config.set("shops", null); // Clear existing shops to rewrite all active ones
-
-        for (ChestShop shop : activeShops.values()) {
-            String shopId = shop.getId().toString();
-            config.set("shops." + shopId + ".ownerUUID", shop.getOwnerUUID().toString());
-            config.set("shops." + shopId + ".location", serializeLocation(shop.getLocation()));
-            config.set("shops." + shopId + ".soldItem", shop.getSoldItem());
-            config.set("shops." + shopId + ".price", shop.getPrice());
-            config.set("shops." + shopId + ".quantity", shop.getQuantity());
-            config.set("shops." + shopId + ".displayEnabled", shop.isDisplayEnabled());
-        }
-        plugin.saveConfig();
-        Logger.info("Saved " + activeShops.size() + " shops to config.yml.");
+    public ShopRepository getRepository() {
+        return repository;
     }
 
     /**
-     * Saves a single shop to the plugin's configuration file.
-     * This is called when a shop is created or its properties are updated.
-     * @param shop The ChestShop object to save.
+     * Gets the stock tracker that applies inventory changes to shop stock.
+     * @return The stock tracker.
      */
-    private void saveShop(ChestShop shop) {
-        FileConfiguration config = plugin.getConfig();
-        String shopId = shop.getId().toString();
-        config.set("shops." + shopId + ".ownerUUID", shop.getOwnerUUID().toString());
-        config.set("shops." + shopId + ".location", serializeLocation(shop.getLocation()));
-        config.set("shops." + shopId + ".soldItem", shop.getSoldItem());
-        config.set("shops." + shopId + ".price", shop.getPrice());
-        config.set("shops." + shopId + ".quantity", shop.getQuantity());
-        config.set("shops." + shopId + ".displayEnabled", shop.isDisplayEnabled());
-        plugin.saveConfig();
-        Logger.debug("Saved shop " + shop.getId() + " to config.");
+    public StockTracker getStockTracker() {
+        return stockTracker;
     }
 
     /**
-     * Deletes a single shop's data from the plugin's configuration file.
-     * @param shop The ChestShop object to delete.
+     * Gets the transaction ledger used to record purchases.
+     * @return The transaction ledger.
      */
-    private void deleteShop(ChestShop shop) {
-        FileConfiguration config = plugin.getConfig();
-        config.set("shops." + shop.getId().toString(), null); // Set section to null to remove it
-        plugin.saveConfig();
-        Logger.debug("Deleted shop " + shop.getId() + " from config.");
+    public TransactionLedger getLedger() {
+        return ledger;
     }
 
     /**
-     * Serializes a Location object to a string for storage in config.
-     * Format: worldName,x,y,z
-     * @param location The Location to serialize.
-     * @return The serialized string.
+     * Queues every currently active shop to be written to disk.
+     * Individual changes are already queued as they happen, so this is only needed to force a full rewrite.
      */
-    private String serializeLocation(Location location) {
-        if (location == null || location.getWorld() == null) {
-            Logger.severe("Attempted to serialize null location or location with null world!");
-            return ""; // Return empty string for invalid locations
+    public void saveShops() {
+        for (ChestShop shop : shopIndex.getAll()) {
+            writeQueue.markDirty(ShopRecord.of(shop));
         }
-        return String.format("%s,%d,%d,%d",
-                location.getWorld().getName(),
-                location.getBlockX(),
-                location.getBlockY(),
-                location.getBlockZ());
+        writeQueue.requestFlush();
+        Logger.info("Queued " + shopIndex.size() + " shops to be saved.");
     }
 
     /**
-     * Deserializes a string back into a Location object.
-     * @param serializedLocation The string to deserialize.
-     * @return The deserialized Location, or null if parsing fails or world is not found.
+     * Queues a single shop to be written to disk.
+     * This is called when a shop is created or its properties are updated. Repeated calls
+     * before the next flush are merged into a single write.
+     * @param shop The ChestShop object to save.
      */
-    private Location deserializeLocation(String serializedLocation) {
-        if (serializedLocation == null || serializedLocation.isEmpty()) return null;
-        String[] parts = serializedLocation.split(",");
-        if (parts.length != 4) {
-            Logger.warning("Invalid serialized location format: " + serializedLocation);
-            return null;
-        }
-        try {
-            // Ensure the world exists before creating the Location object
-            if (Bukkit.getWorld(parts[0]) == null) {
-                Logger.warning("World '" + parts[0] + "' not found for deserialized location: " + serializedLocation);
-                return null;
-            }
-            return new Location(
-                    Bukkit.getWorld(parts[0]), // Use Bukkit.getWorld to get the World object
-                    Integer.parseInt(parts[1]),
-                    Integer.parseInt(parts[2]),
-                    Integer.parseInt(parts[3])
-            );
-        } catch (NumberFormatException e) {
-            Logger.severe("Failed to parse coordinates for location: " + serializedLocation + " - " + e.getMessage());
-            return null;
-        }
+    public void saveShop(ChestShop shop) {
+        writeQueue.markDirty(ShopRecord.of(shop));
+        Logger.debug("Queued shop " + shop.getId() + " to be saved.");
+    }
+
+    /**
+     * Queues a single shop's data to be deleted from storage.
+     * @param shop The ChestShop object to delete.
+     */
+    private void deleteShop(ChestShop shop) {
+        writeQueue.markDeleted(shop.getId());
+        Logger.debug("Queued shop " + shop.getId() + " to be deleted.");
+    }
+
+    /**
+     * Writes all pending shop changes and blocks until they are on disk.
+     * Called when the plugin is disabled.
+     */
+    public void shutdown() {
+        writeQueue.shutdown();
+        ledger.shutdown();
+        repository.close();
+        Logger.info("Saved all pending shop changes.");
     }
 }
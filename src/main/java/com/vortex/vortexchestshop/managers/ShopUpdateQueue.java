@@ -0,0 +1,80 @@
+// src/main/java/com/vortex/vortexchestshop/managers/ShopUpdateQueue.java
+
+package com.vortex.vortexchestshop.managers;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.models.ChestShop;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies changes to shops to their displays and holograms once per tick.
+ * <p>
+ * ChestShop setters only mark the shop dirty; the first change to a clean shop queues it here. On the next tick
+ * the queue renders every dirty shop once, with at most one display update and one hologram update, no matter
+ * how many setters were called in between (e.g., stock and price changes from the same purchase).
+ * <p>
+ * All methods must be called from the main thread.
+ */
+public class ShopUpdateQueue {
+
+    private final VortexChestShop plugin;
+    private List<ChestShop> pending;
+    private BukkitTask renderTask;
+
+    public ShopUpdateQueue(VortexChestShop plugin) {
+        this.plugin = plugin;
+        this.pending = new ArrayList<>();
+    }
+
+    /**
+     * Queues a shop that just became dirty. Called by {@link ChestShop} when its first change since the last
+     * render is marked.
+     * @param shop The dirty shop.
+     */
+    public void enqueue(ChestShop shop) {
+        pending.add(shop);
+        if (renderTask == null && plugin.isEnabled()) {
+            renderTask = Bukkit.getScheduler().runTask(plugin, this::render);
+        }
+    }
+
+    /**
+     * Renders every queued shop.
+     */
+    public void render() {
+        renderTask = null;
+        List<ChestShop> shops = pending;
+        pending = new ArrayList<>();
+        for (ChestShop shop : shops) {
+            int dirty = shop.clearDirty();
+            // Shops removed or unloaded since they were changed have no display to update
+            if (dirty == 0 || !plugin.getShopManager().isShopLoaded(shop)) {
+                continue;
+            }
+            if ((dirty & ChestShop.DIRTY_DISPLAY) != 0) {
+                plugin.getFloatingItemDisplayManager().updateDisplay(shop);
+            }
+            if ((dirty & ChestShop.DIRTY_HOLOGRAM) != 0) {
+                plugin.getHologramManager().updateHologram(shop);
+            }
+        }
+    }
+
+    /**
+     * Cancels the pending render and drops all queued shops. Called when the plugin is disabled.
+     */
+    public void shutdown() {
+        if (renderTask != null) {
+            renderTask.cancel();
+            renderTask = null;
+        }
+        for (ChestShop shop : pending) {
+            shop.clearDirty();
+        }
+        pending.clear();
+    }
+}
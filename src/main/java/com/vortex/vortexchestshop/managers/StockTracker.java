@@ -0,0 +1,102 @@
+// src/main/java/com/vortex/vortexchestshop/managers/StockTracker.java
+
+package com.vortex.vortexchestshop.managers;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.models.ChestShop;
+import com.vortex.vortexchestshop.utils.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps shop stock up to date from inventory events instead of polling every chest.
+ * <p>
+ * Changes with a known size (hopper transfers, purchases) are applied as deltas. Player clicks and drags
+ * in a shop chest can move items in ways that are hard to account for exactly, so they only mark the shop
+ * for a recount; all recounts requested during a tick are coalesced and run once on the next tick.
+ * A time-sliced StockVerifier slowly recounts the shops in loaded chunks to catch changes made outside
+ * these events (e.g., by other plugins).
+ */
+public class StockTracker {
+
+    private final VortexChestShop plugin;
+    private final ShopManager shopManager;
+    // Shops waiting for a recount on the next tick
+    private final Set<ChestShop> pendingRecounts;
+    private BukkitTask recountTask;
+    private StockVerifier verifier;
+
+    public StockTracker(VortexChestShop plugin, ShopManager shopManager) {
+        this.plugin = plugin;
+        this.shopManager = shopManager;
+        this.pendingRecounts = new LinkedHashSet<>();
+    }
+
+    /**
+     * Starts the stock verifier, replacing any previously started one (e.g., after a reload).
+     */
+    public void start() {
+        if (verifier != null) {
+            verifier.stop();
+        }
+        verifier = new StockVerifier(shopManager,
+                plugin.getSettings().stockCheckBudgetNanos(),
+                plugin.getSettings().stockCheckRate());
+        verifier.start(plugin);
+    }
+
+    /**
+     * @return The stock verifier, or null if it has not been started.
+     */
+    public StockVerifier getVerifier() {
+        return verifier;
+    }
+
+    /**
+     * Marks a shop's chest contents as changed. The chest is recounted once on the next tick,
+     * no matter how many changes are reported before then.
+     * @param shop The shop whose chest changed.
+     */
+    public void requestRecount(ChestShop shop) {
+        if (!pendingRecounts.add(shop) || recountTask != null) {
+            return;
+        }
+        recountTask = Bukkit.getScheduler().runTask(plugin, this::runRecounts);
+    }
+
+    private void runRecounts() {
+        recountTask = null;
+        List<ChestShop> shops = new ArrayList<>(pendingRecounts);
+        pendingRecounts.clear();
+        for (ChestShop shop : shops) {
+            // Skip shops removed since the recount was requested
+            if (shopManager.getShopAtLocation(shop.getLocation()) == shop) {
+                shopManager.updateShopStock(shop);
+            }
+        }
+    }
+
+    /**
+     * Applies a known change to a shop's stock without reading its chest.
+     * @param shop The shop whose stock changed.
+     * @param delta The number of sold items added (positive) or removed (negative).
+     */
+    public void applyDelta(ChestShop shop, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        int stock = shop.getCurrentStock() + delta;
+        if (stock < 0) {
+            // Our count drifted from the chest; fall back to counting it
+            requestRecount(shop);
+            return;
+        }
+        shop.setCurrentStock(stock);
+        Logger.debug("Shop " + shop.getId() + " stock changed by " + delta + " to: " + stock);
+    }
+}
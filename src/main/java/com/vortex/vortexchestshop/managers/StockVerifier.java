@@ -0,0 +1,132 @@
+// src/main/java/com/vortex/vortexchestshop/managers/StockVerifier.java
+
+package com.vortex.vortexchestshop.managers;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.models.ChestShop;
+import com.vortex.vortexchestshop.utils.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recounts shop chests in loaded chunks as a time-sliced round-robin.
+ * <p>
+ * Every tick, a cursor advances through a snapshot of the loaded shops until either the per-tick time budget
+ * is spent or the per-tick share of the cycle has been checked. The share is sized so a full cycle is spread
+ * over at least the configured number of ticks, so a complete pass never runs within a single tick.
+ * When the cursor reaches the end, the cycle's duration is recorded and a new snapshot is taken. The last
+ * cycle's duration is shown by /shop admin status.
+ */
+public class StockVerifier implements Runnable {
+
+    private final ShopManager shopManager;
+    // Maximum time to spend per tick
+    private final long budgetNanos;
+    // Minimum number of ticks a full cycle is spread over
+    private final long minCycleTicks;
+
+    private ChestShop[] cycle = new ChestShop[0];
+    private int cursor;
+    private int perTickLimit;
+    private long cycleStartNanos;
+    private long cycleTicks;
+    private BukkitTask task;
+
+    // Size and duration of the last completed cycle, for /shop admin status
+    private volatile int lastCycleShops;
+    private volatile long lastCycleNanos = -1;
+    private volatile long lastCycleTicks = -1;
+
+    public StockVerifier(ShopManager shopManager, long budgetNanos, long minCycleTicks) {
+        this.shopManager = shopManager;
+        this.budgetNanos = Math.max(1, budgetNanos);
+        this.minCycleTicks = Math.max(1, minCycleTicks);
+    }
+
+    /**
+     * Schedules the verifier to run every tick.
+     * @param plugin The plugin to schedule the task for.
+     */
+    public void start(VortexChestShop plugin) {
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+        Logger.info("Started stock verifier (budget " + TimeUnit.NANOSECONDS.toMicros(budgetNanos)
+                + "us per tick, full cycle over at least " + minCycleTicks + " ticks).");
+    }
+
+    /**
+     * Cancels the verifier's task.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        if (cursor >= cycle.length) {
+            completeCycle();
+            startCycle();
+            if (cycle.length == 0) {
+                return;
+            }
+        }
+        cycleTicks++;
+
+        long deadline = System.nanoTime() + budgetNanos;
+        int end = Math.min(cycle.length, cursor + perTickLimit);
+        // Always check at least one shop so the cycle makes progress under a tiny budget
+        do {
+            ChestShop shop = cycle[cursor];
+            cycle[cursor++] = null;
+            // Skip shops removed or unloaded since the snapshot was taken
+            if (shopManager.isShopLoaded(shop)) {
+                shopManager.updateShopStock(shop);
+            }
+        } while (cursor < end && System.nanoTime() < deadline);
+    }
+
+    private void startCycle() {
+        cycle = shopManager.getLoadedShops().toArray(new ChestShop[0]);
+        cursor = 0;
+        // Ceiling division, so the cycle takes at least minCycleTicks ticks but never stalls
+        perTickLimit = (int) Math.max(1, (cycle.length + minCycleTicks - 1) / minCycleTicks);
+        cycleStartNanos = System.nanoTime();
+        cycleTicks = 0;
+    }
+
+    private void completeCycle() {
+        if (cycleTicks == 0) {
+            return; // No cycle has run yet, or the last one was empty
+        }
+        lastCycleShops = cycle.length;
+        lastCycleNanos = System.nanoTime() - cycleStartNanos;
+        lastCycleTicks = cycleTicks;
+        Logger.debug("Stock verification cycle over " + cycle.length + " shops took " + lastCycleTicks + " ticks ("
+                + TimeUnit.NANOSECONDS.toMillis(lastCycleNanos) + "ms).");
+    }
+
+    /**
+     * @return The number of shops in the last complete cycle.
+     */
+    public int getLastCycleShops() {
+        return lastCycleShops;
+    }
+
+    /**
+     * @return The wall-clock duration of the last complete cycle in nanoseconds, or -1 if none has completed.
+     */
+    public long getLastCycleNanos() {
+        return lastCycleNanos;
+    }
+
+    /**
+     * @return The number of ticks the last complete cycle took, or -1 if none has completed.
+     */
+    public long getLastCycleTicks() {
+        return lastCycleTicks;
+    }
+}
@@ -3,6 +3,7 @@
 package com.vortex.vortexchestshop.models;
 
 import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.utils.ItemFingerprint;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -12,14 +13,21 @@ import java.util.UUID;
 
 public class ChestShop {
 
+    // Dirty flags: which visuals must be updated on the next render pass
+    public static final int DIRTY_DISPLAY = 1;
+    public static final int DIRTY_HOLOGRAM = 2;
+
     private final UUID id; // Unique ID for this shop instance
     private final UUID ownerUUID; // UUID of the player who owns this shop
     private final Location location; // Location of the chest block for this shop
     private ItemStack soldItem; // The item being sold (stored as a single item, quantity handled separately)
+    private ItemFingerprint soldItemFingerprint; // Precomputed summary of soldItem for fast stock matching
     private double price; // Price per transaction (for the specified quantity)
     private int quantity; // Quantity of items sold per transaction
     private int currentStock; // Current available stock of the sold item in the chest
     private boolean displayEnabled; // Whether the floating item display is enabled for this shop
+    private PremiumProfile premiumProfile = PremiumProfile.NONE; // Owner's premium visual perks, kept current by PremiumProfileManager
+    private int dirtyFlags; // Visuals changed since the last render pass, see DIRTY_DISPLAY and DIRTY_HOLOGRAM
 
     /**
      * Constructor for a new ChestShop.
@@ -36,6 +44,7 @@ public class ChestShop {
         this.ownerUUID = ownerUUID;
         this.location = location;
         this.soldItem = soldItem;
+        this.soldItemFingerprint = new ItemFingerprint(soldItem);
         this.price = price;
         this.quantity = quantity;
         this.displayEnabled = displayEnabled;
@@ -67,6 +76,17 @@ public class ChestShop {
         return soldItem;
     }
 
+    /**
+     * Checks whether an item matches the sold item (same item apart from its amount).
+     * Items are rejected by their precomputed fingerprint first; the full meta comparison only runs
+     * for items whose fingerprint matches.
+     * @param item The item to check; may be null.
+     * @return true if the item matches the sold item.
+     */
+    public boolean matchesSoldItem(ItemStack item) {
+        return soldItemFingerprint.matches(item);
+    }
+
     public double getPrice() {
         return price;
     }
@@ -83,79 +103,102 @@ public class ChestShop {
         return displayEnabled;
     }
 
+    /**
+     * Gets the owner's premium visual profile, cached so display updates do not check permissions.
+     * @return The owner's profile; {@link PremiumProfile#NONE} while they are offline.
+     */
+    public PremiumProfile getPremiumProfile() {
+        return premiumProfile;
+    }
+
     // --- Setters ---
+    /**
+     * Sets the owner's premium visual profile. Called by PremiumProfileManager.
+     * @param premiumProfile The owner's current profile.
+     */
+    public void setPremiumProfile(PremiumProfile premiumProfile) {
+        this.premiumProfile = premiumProfile;
+    }
+
     /**
      * Sets the item being sold in the shop.
-     * Calling this will trigger an update to the floating item display.
+     * The floating item display and hologram are updated on the next render pass.
      * @param soldItem The new ItemStack to be sold.
      */
     public void setSoldItem(ItemStack soldItem) {
         this.soldItem = soldItem;
-        // Trigger display update when item changes
-        if (VortexChestShop.getInstance() != null && VortexChestShop.getInstance().getFloatingItemDisplayManager() != null) {
-            VortexChestShop.getInstance().getFloatingItemDisplayManager().updateDisplay(this);
-        }
+        this.soldItemFingerprint = new ItemFingerprint(soldItem);
+        markDirty(DIRTY_DISPLAY | DIRTY_HOLOGRAM);
     }
 
     /**
      * Sets the price of the item per transaction.
-     * Calling this will trigger an update to the hologram text display.
+     * The hologram text display is updated on the next render pass.
      * @param price The new price.
      */
     public void setPrice(double price) {
         this.price = price;
-        // Trigger hologram update when price changes
-        if (VortexChestShop.getInstance() != null && VortexChestShop.getInstance().getHologramManager() != null) {
-            VortexChestShop.getInstance().getHologramManager().updateHologram(this);
-        }
+        markDirty(DIRTY_HOLOGRAM);
     }
 
     /**
      * Sets the quantity of items sold per transaction.
-     * Calling this will trigger an update to the hologram text display if quantity is part of it.
+     * The hologram text display is updated on the next render pass, in case quantity is part of it.
      * @param quantity The new quantity.
      */
     public void setQuantity(int quantity) {
         this.quantity = quantity;
-        // Trigger hologram update if quantity is part of display
-        if (VortexChestShop.getInstance() != null && VortexChestShop.getInstance().getHologramManager() != null) {
-            VortexChestShop.getInstance().getHologramManager().updateHologram(this);
-        }
+        markDirty(DIRTY_HOLOGRAM);
     }
 
     /**
      * Sets the current stock of the shop.
-     * Calling this will trigger updates to both the floating item display (e.g., hide/show if empty)
-     * and the hologram display (if stock is shown).
+     * Both the floating item display (e.g., hide/show if empty) and the hologram display are updated
+     * on the next render pass.
      * @param currentStock The new current stock.
      */
     public void setCurrentStock(int currentStock) {
         this.currentStock = currentStock;
-        // Trigger display update when stock changes (e.g., hide/show if empty)
-        if (VortexChestShop.getInstance() != null && VortexChestShop.getInstance().getFloatingItemDisplayManager() != null) {
-            VortexChestShop.getInstance().getFloatingItemDisplayManager().updateDisplay(this);
-        }
-        // Trigger hologram update if stock is displayed in the hologram
-        if (VortexChestShop.getInstance() != null && VortexChestShop.getInstance().getHologramManager() != null) {
-            VortexChestShop.getInstance().getHologramManager().updateHologram(this);
-        }
+        markDirty(DIRTY_DISPLAY | DIRTY_HOLOGRAM);
     }
 
     /**
      * Enables or disables the floating item display for this shop.
+     * The display is created or removed on the next render pass.
      * @param displayEnabled True to enable, false to disable.
      */
     public void setDisplayEnabled(boolean displayEnabled) {
         this.displayEnabled = displayEnabled;
-        if (VortexChestShop.getInstance() != null && VortexChestShop.getInstance().getFloatingItemDisplayManager() != null) {
-            if (displayEnabled) {
-                // If enabling, try to create/show the display
-                VortexChestShop.getInstance().getFloatingItemDisplayManager().createDisplay(this);
-            } else {
-                // If disabling, remove the display
-                VortexChestShop.getInstance().getFloatingItemDisplayManager().removeDisplay(this);
-            }
+        markDirty(DIRTY_DISPLAY);
+    }
+
+    /**
+     * Queues the hologram for the next render pass without changing the shop, e.g. to resolve its placeholders again.
+     */
+    public void refreshHologram() {
+        markDirty(DIRTY_HOLOGRAM);
+    }
+
+    /**
+     * Marks parts of the shop's visuals as out of date and queues the shop for the next render pass.
+     * @param flags A combination of {@link #DIRTY_DISPLAY} and {@link #DIRTY_HOLOGRAM}.
+     */
+    private void markDirty(int flags) {
+        boolean wasClean = dirtyFlags == 0;
+        dirtyFlags |= flags;
+        if (wasClean && VortexChestShop.getInstance() != null && VortexChestShop.getInstance().getShopUpdateQueue() != null) {
+            VortexChestShop.getInstance().getShopUpdateQueue().enqueue(this);
         }
     }
+
+    /**
+     * Clears the dirty flags. Called by the render pass.
+     * @return The flags that were set.
+     */
+    public int clearDirty() {
+        int flags = dirtyFlags;
+        dirtyFlags = 0;
+        return flags;
+    }
 }
 
@@ -0,0 +1,79 @@
+// src/main/java/com/vortex/vortexchestshop/models/PremiumProfile.java
+
+package com.vortex.vortexchestshop.models;
+
+import org.bukkit.entity.Player;
+
+/**
+ * The premium visual perks of a shop owner, resolved from their permissions.
+ * Profiles are immutable; a shop holds its owner's current profile so display updates never check permissions.
+ */
+public final class PremiumProfile {
+
+    /**
+     * Profile without any perks, used for offline owners.
+     */
+    public static final PremiumProfile NONE = new PremiumProfile(false, false, false, false);
+
+    private final boolean enhancedRotation;
+    private final boolean particles;
+    private final boolean glowingOutline;
+    private final boolean longRange;
+
+    private PremiumProfile(boolean enhancedRotation, boolean particles, boolean glowingOutline, boolean longRange) {
+        this.enhancedRotation = enhancedRotation;
+        this.particles = particles;
+        this.glowingOutline = glowingOutline;
+        this.longRange = longRange;
+    }
+
+    /**
+     * Resolves the profile of an online player from their premium visual permissions.
+     * @param player The player.
+     * @return The player's profile; {@link #NONE} if they have no premium visual permission.
+     */
+    public static PremiumProfile resolve(Player player) {
+        boolean enhancedRotation = player.hasPermission("vortexchestshop.premium.visuals.enhancedrotation");
+        boolean particles = player.hasPermission("vortexchestshop.premium.visuals.particles");
+        boolean glowingOutline = player.hasPermission("vortexchestshop.premium.visuals.glowingoutline");
+        boolean longRange = player.hasPermission("vortexchestshop.premium.visuals.longrange");
+        if (!enhancedRotation && !particles && !glowingOutline && !longRange) {
+            return NONE;
+        }
+        return new PremiumProfile(enhancedRotation, particles, glowingOutline, longRange);
+    }
+
+    public boolean hasEnhancedRotation() {
+        return enhancedRotation;
+    }
+
+    public boolean hasParticles() {
+        return particles;
+    }
+
+    public boolean hasGlowingOutline() {
+        return glowingOutline;
+    }
+
+    public boolean hasLongRange() {
+        return longRange;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PremiumProfile)) {
+            return false;
+        }
+        PremiumProfile other = (PremiumProfile) o;
+        return enhancedRotation == other.enhancedRotation && particles == other.particles
+                && glowingOutline == other.glowingOutline && longRange == other.longRange;
+    }
+
+    @Override
+    public int hashCode() {
+        return (enhancedRotation ? 1 : 0) | (particles ? 2 : 0) | (glowingOutline ? 4 : 0) | (longRange ? 8 : 0);
+    }
+}
@@ -0,0 +1,258 @@
+// src/main/java/com/vortex/vortexchestshop/storage/BinaryShopRepository.java
+
+package com.vortex.vortexchestshop.storage;
+
+import com.vortex.vortexchestshop.utils.Logger;
+import org.bukkit.Material;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Shop repository backed by a dedicated binary file (shops.dat), separate from config.yml.
+ * <p>
+ * File layout (big-endian):
+ * <pre>
+ *   int   magic ("VCSS")
+ *   short format version
+ *   int   entry count
+ *   entries: int payload length, byte[] payload (see {@link ShopRecordCodec})
+ * </pre>
+ * The encoded entries are kept in memory after loading, so a flush only encodes the shops that changed
+ * and then rewrites the file sequentially. Files are replaced atomically to survive crashes mid-write.
+ * Queries are answered by scanning the in-memory records; use the SQLite repository for indexed lookups.
+ */
+public class BinaryShopRepository implements ShopRepository {
+
+    private static final int MAGIC = 0x56435353; // "VCSS"
+    private static final short FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 2 + 4;
+
+    private final Path file;
+    private final Path tempFile;
+    // Encoded payloads of every stored shop, in file order, including entries that could not be decoded
+    private final Map<UUID, byte[]> entries;
+    // Decoded records matching the entries above, used to answer queries
+    private final Map<UUID, ShopRecord> records;
+    // False until the file has been read successfully; writes load it first so existing entries are never dropped
+    private boolean loaded;
+
+    public BinaryShopRepository(File file) {
+        this.file = file.toPath();
+        this.tempFile = new File(file.getParentFile(), file.getName() + ".tmp").toPath();
+        this.entries = new LinkedHashMap<>();
+        this.records = new LinkedHashMap<>();
+        this.loaded = false;
+    }
+
+    @Override
+    public boolean hasData() {
+        return Files.exists(file);
+    }
+
+    /**
+     * Reads every shop record from the store file using channel I/O.
+     * Entries that cannot be decoded (e.g. an item from a removed plugin) are logged and left out of the result,
+     * but their payload is kept and written back unchanged, so a later write never deletes them.
+     * @return The decoded records, or an empty list if the file does not exist yet.
+     * @throws IOException If the file header is invalid or the file cannot be read.
+     */
+    @Override
+    public synchronized List<ShopRecord> loadAll() throws IOException {
+        entries.clear();
+        records.clear();
+        if (!hasData()) {
+            loaded = true;
+            return new ArrayList<>();
+        }
+
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid shop store size: " + size + " bytes");
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full
+            }
+            buffer.flip();
+        }
+
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a VortexChestShop shop store: " + file);
+        }
+        short version = buffer.getShort();
+        if (version > FORMAT_VERSION) {
+            throw new IOException("Shop store format version " + version + " is newer than supported version " + FORMAT_VERSION);
+        }
+        int count = buffer.getInt();
+
+        for (int i = 0; i < count; i++) {
+            if (buffer.remaining() < 4) {
+                throw new IOException("Shop store is truncated after " + i + " of " + count + " entries");
+            }
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IOException("Shop store entry " + i + " has invalid length " + length);
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            try {
+                ShopRecord record = ShopRecordCodec.decode(ByteBuffer.wrap(payload));
+                entries.put(record.getId(), payload);
+                records.put(record.getId(), record);
+            } catch (IOException e) {
+                Logger.severe("Skipping unreadable shop entry " + i + " in " + file.getFileName() + ": " + e.getMessage()
+                        + ". The entry is kept in the file.");
+                entries.put(readId(payload), payload);
+            }
+        }
+
+        loaded = true;
+        return new ArrayList<>(records.values());
+    }
+
+    @Override
+    public synchronized List<ShopRecord> loadWorld(String worldName) throws IOException {
+        ensureLoaded();
+        List<ShopRecord> result = new ArrayList<>();
+        for (ShopRecord record : records.values()) {
+            if (record.getWorldName().equals(worldName)) {
+                result.add(record);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies a batch of changes and rewrites the store file.
+     * Called from the storage thread.
+     * @param upserts Shops to create or overwrite.
+     * @param deletions IDs of shops to remove.
+     * @throws IOException If a record could not be encoded or the file could not be written.
+     */
+    @Override
+    public synchronized void write(Collection<ShopRecord> upserts, Collection<UUID> deletions) throws IOException {
+        // Never rewrite the file without its existing entries; fails if the file cannot be read
+        ensureLoaded();
+
+        // Encode first so a failing record leaves the in-memory state untouched
+        Map<UUID, byte[]> encoded = new LinkedHashMap<>();
+        for (ShopRecord record : upserts) {
+            encoded.put(record.getId(), ShopRecordCodec.encode(record));
+        }
+
+        for (UUID shopId : deletions) {
+            entries.remove(shopId);
+            records.remove(shopId);
+        }
+        entries.putAll(encoded);
+        for (ShopRecord record : upserts) {
+            records.put(record.getId(), record);
+        }
+
+        writeFile();
+    }
+
+    @Override
+    public synchronized int countByOwner(UUID ownerUUID) throws IOException {
+        return findByOwner(ownerUUID).size();
+    }
+
+    @Override
+    public synchronized List<ShopRecord> findByOwner(UUID ownerUUID) throws IOException {
+        ensureLoaded();
+        List<ShopRecord> result = new ArrayList<>();
+        for (ShopRecord record : records.values()) {
+            if (record.getOwnerUUID().equals(ownerUUID)) {
+                result.add(record);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized List<ShopRecord> findByMaterial(Material material) throws IOException {
+        ensureLoaded();
+        List<ShopRecord> result = new ArrayList<>();
+        for (ShopRecord record : records.values()) {
+            if (record.getSoldItem().getType() == material) {
+                result.add(record);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release; the file is only open while reading or writing
+    }
+
+    /**
+     * Reads the shop ID at the start of a payload that could not be decoded, so an upsert or deletion of that shop
+     * still replaces it. Payloads too short to hold an ID get a random key that no shop will ever use.
+     */
+    private static UUID readId(byte[] payload) {
+        if (payload.length < 16) {
+            return UUID.randomUUID();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private void ensureLoaded() throws IOException {
+        if (!loaded) {
+            loadAll();
+        }
+    }
+
+    private void writeFile() throws IOException {
+        long size = HEADER_SIZE;
+        for (byte[] payload : entries.values()) {
+            size += 4 + payload.length;
+        }
+
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putShort(FORMAT_VERSION).putInt(entries.size()).flip();
+            writeFully(channel, header);
+
+            ByteBuffer lengthPrefix = ByteBuffer.allocate(4);
+            for (byte[] payload : entries.values()) {
+                lengthPrefix.clear();
+                lengthPrefix.putInt(payload.length).flip();
+                writeFully(channel, lengthPrefix);
+                writeFully(channel, ByteBuffer.wrap(payload));
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Logger.debug("Wrote " + entries.size() + " shops (" + size + " bytes) to " + file.getFileName() + ".");
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+// src/main/java/com/vortex/vortexchestshop/storage/ShopDataMigrator.java
+
+package com.vortex.vortexchestshop.storage;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.utils.Logger;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One-time migrations of shop data into the configured repository:
+ * the legacy 'shops' section in config.yml, and shops from another repository when the storage type changes.
+ * After a successful YAML migration the section is removed from config.yml, and a backup of the original
+ * file is kept as config.yml.pre-migration.
+ */
+public class ShopDataMigrator {
+
+    private final VortexChestShop plugin;
+    private final ShopRepository repository;
+
+    public ShopDataMigrator(VortexChestShop plugin, ShopRepository repository) {
+        this.plugin = plugin;
+        this.repository = repository;
+    }
+
+    /**
+     * Migrates the legacy shops section if present and the repository is still empty.
+     * Runs synchronously on the main thread during startup.
+     */
+    public void migrateLegacyYaml() {
+        FileConfiguration config = plugin.getConfig();
+        ConfigurationSection shopsSection = config.getConfigurationSection("shops");
+        if (shopsSection == null) {
+            return;
+        }
+        if (!isRepositoryEmpty()) {
+            Logger.warning("Found a legacy 'shops' section in config.yml, but shop storage already contains data. Ignoring the legacy section.");
+            return;
+        }
+
+        List<ShopRecord> records = new ArrayList<>();
+        for (String shopIdString : shopsSection.getKeys(false)) {
+            ConfigurationSection shopData = shopsSection.getConfigurationSection(shopIdString);
+            if (shopData == null) {
+                Logger.warning("Skipping empty legacy shop data section for ID: " + shopIdString);
+                continue;
+            }
+            try {
+                ShopRecord record = readRecord(shopIdString, shopData);
+                if (record != null) {
+                    records.add(record);
+                }
+            } catch (IllegalArgumentException | NullPointerException e) {
+                Logger.severe("Failed to migrate legacy shop " + shopIdString + ": " + e.getMessage() + ". Skipping.");
+            }
+        }
+
+        try {
+            repository.write(records, Collections.emptyList());
+        } catch (IOException e) {
+            Logger.severe("Failed to migrate shops from config.yml: " + e.getMessage());
+            e.printStackTrace();
+            return;
+        }
+
+        // Keep a copy of the original file before stripping the shops section out of it
+        File configFile = new File(plugin.getDataFolder(), "config.yml");
+        try {
+            Files.copy(configFile.toPath(), new File(plugin.getDataFolder(), "config.yml.pre-migration").toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Logger.warning("Could not back up config.yml before migration: " + e.getMessage());
+        }
+        config.set("shops", null);
+        plugin.saveConfig();
+        Logger.info("Migrated " + records.size() + " shops from config.yml.");
+    }
+
+    /**
+     * Copies every shop from another repository if the configured repository is still empty.
+     * Used when switching storage.type so existing shops are carried over.
+     * Runs synchronously on the main thread during startup.
+     * @param source The previously used repository.
+     * @param sourceName A human-readable name of the source for log messages.
+     */
+    public void importFrom(ShopRepository source, String sourceName) {
+        try {
+            if (!source.hasData() || !isRepositoryEmpty()) {
+                return;
+            }
+            List<ShopRecord> records = source.loadAll();
+            repository.write(records, Collections.emptyList());
+            Logger.info("Imported " + records.size() + " shops from " + sourceName + ".");
+        } catch (IOException e) {
+            Logger.severe("Failed to import shops from " + sourceName + ": " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            source.close();
+        }
+    }
+
+    private boolean isRepositoryEmpty() {
+        try {
+            return !repository.hasData();
+        } catch (IOException e) {
+            // Treat an unreadable repository as non-empty so nothing is written over it
+            Logger.severe("Failed to check shop storage: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads a single legacy shop entry.
+     * @return The record, or null if the entry is missing required data.
+     */
+    private ShopRecord readRecord(String shopIdString, ConfigurationSection shopData) {
+        UUID id = UUID.fromString(shopIdString);
+        UUID ownerUUID = UUID.fromString(shopData.getString("ownerUUID"));
+        ItemStack soldItem = shopData.getItemStack("soldItem");
+        String[] location = shopData.getString("location", "").split(",");
+        if (soldItem == null || location.length != 4) {
+            Logger.warning("Skipping invalid legacy shop data for ID: " + shopIdString + " (missing location or item).");
+            return null;
+        }
+        return new ShopRecord(
+                id,
+                ownerUUID,
+                location[0],
+                Integer.parseInt(location[1]),
+                Integer.parseInt(location[2]),
+                Integer.parseInt(location[3]),
+                soldItem,
+                shopData.getDouble("price"),
+                shopData.getInt("quantity"),
+                shopData.getBoolean("displayEnabled", true));
+    }
+}
@@ -0,0 +1,103 @@
+// src/main/java/com/vortex/vortexchestshop/storage/ShopRecord.java
+
+package com.vortex.vortexchestshop.storage;
+
+import com.vortex.vortexchestshop.models.ChestShop;
+import org.bukkit.Location;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the persistent fields of a ChestShop.
+ * Snapshots are taken on the main thread so they can be written to disk from a background thread
+ * without touching live Bukkit objects.
+ */
+public final class ShopRecord {
+
+    private final UUID id;
+    private final UUID ownerUUID;
+    private final String worldName;
+    private final int x;
+    private final int y;
+    private final int z;
+    private final ItemStack soldItem;
+    private final double price;
+    private final int quantity;
+    private final boolean displayEnabled;
+
+    public ShopRecord(UUID id, UUID ownerUUID, String worldName, int x, int y, int z,
+                      ItemStack soldItem, double price, int quantity, boolean displayEnabled) {
+        this.id = id;
+        this.ownerUUID = ownerUUID;
+        this.worldName = worldName;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.soldItem = soldItem;
+        this.price = price;
+        this.quantity = quantity;
+        this.displayEnabled = displayEnabled;
+    }
+
+    /**
+     * Takes a snapshot of a shop. Must be called on the main thread.
+     * The sold item is cloned so later changes to the shop do not leak into the snapshot.
+     * @param shop The ChestShop to snapshot.
+     * @return The immutable record.
+     */
+    public static ShopRecord of(ChestShop shop) {
+        Location location = shop.getLocation();
+        return new ShopRecord(
+                shop.getId(),
+                shop.getOwnerUUID(),
+                location.getWorld().getName(),
+                location.getBlockX(),
+                location.getBlockY(),
+                location.getBlockZ(),
+                shop.getSoldItem().clone(),
+                shop.getPrice(),
+                shop.getQuantity(),
+                shop.isDisplayEnabled());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getOwnerUUID() {
+        return ownerUUID;
+    }
+
+    public String getWorldName() {
+        return worldName;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getZ() {
+        return z;
+    }
+
+    public ItemStack getSoldItem() {
+        return soldItem;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public boolean isDisplayEnabled() {
+        return displayEnabled;
+    }
+}
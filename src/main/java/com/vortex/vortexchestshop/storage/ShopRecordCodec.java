@@ -0,0 +1,122 @@
+// src/main/java/com/vortex/vortexchestshop/storage/ShopRecordCodec.java
+
+package com.vortex.vortexchestshop.storage;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Encodes ShopRecords to and from the compact binary entry format used by the shop store.
+ * <p>
+ * Entry payload layout (big-endian):
+ * <pre>
+ *   long   id (most significant bits), long id (least significant bits)
+ *   long   owner (most significant bits), long owner (least significant bits)
+ *   short  world name length, byte[] world name (UTF-8)
+ *   int    x, int y, int z
+ *   double price
+ *   int    quantity
+ *   byte   flags (bit 0: display enabled)
+ *   int    item length, byte[] item (Bukkit object stream)
+ * </pre>
+ * The payload is written without its length; callers add the length prefix so readers can skip entries.
+ */
+public final class ShopRecordCodec {
+
+    private static final byte FLAG_DISPLAY_ENABLED = 1;
+
+    private ShopRecordCodec() {
+    }
+
+    /**
+     * Encodes a record into a standalone payload.
+     * @param record The record to encode.
+     * @return The encoded payload, without a length prefix.
+     * @throws IOException If the sold item could not be serialized.
+     */
+    public static byte[] encode(ShopRecord record) throws IOException {
+        byte[] worldName = record.getWorldName().getBytes(StandardCharsets.UTF_8);
+        byte[] item = encodeItem(record.getSoldItem());
+
+        ByteBuffer buffer = ByteBuffer.allocate(32 + 2 + worldName.length + 12 + 8 + 4 + 1 + 4 + item.length);
+        buffer.putLong(record.getId().getMostSignificantBits());
+        buffer.putLong(record.getId().getLeastSignificantBits());
+        buffer.putLong(record.getOwnerUUID().getMostSignificantBits());
+        buffer.putLong(record.getOwnerUUID().getLeastSignificantBits());
+        buffer.putShort((short) worldName.length);
+        buffer.put(worldName);
+        buffer.putInt(record.getX());
+        buffer.putInt(record.getY());
+        buffer.putInt(record.getZ());
+        buffer.putDouble(record.getPrice());
+        buffer.putInt(record.getQuantity());
+        buffer.put(record.isDisplayEnabled() ? FLAG_DISPLAY_ENABLED : 0);
+        buffer.putInt(item.length);
+        buffer.put(item);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a record from the buffer's current position up to its limit.
+     * @param buffer A buffer positioned at the start of an entry payload.
+     * @return The decoded record.
+     * @throws IOException If the payload is malformed or the sold item cannot be deserialized.
+     */
+    public static ShopRecord decode(ByteBuffer buffer) throws IOException {
+        try {
+            UUID id = new UUID(buffer.getLong(), buffer.getLong());
+            UUID ownerUUID = new UUID(buffer.getLong(), buffer.getLong());
+            byte[] worldName = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(worldName);
+            int x = buffer.getInt();
+            int y = buffer.getInt();
+            int z = buffer.getInt();
+            double price = buffer.getDouble();
+            int quantity = buffer.getInt();
+            byte flags = buffer.get();
+            byte[] item = new byte[buffer.getInt()];
+            buffer.get(item);
+            return new ShopRecord(id, ownerUUID, new String(worldName, StandardCharsets.UTF_8), x, y, z,
+                    decodeItem(item), price, quantity, (flags & FLAG_DISPLAY_ENABLED) != 0);
+        } catch (RuntimeException e) {
+            // BufferUnderflowException, NegativeArraySizeException, ...
+            throw new IOException("Malformed shop entry: " + e, e);
+        }
+    }
+
+    /**
+     * Serializes an item with the Bukkit object stream, preserving all of its meta.
+     * @param item The item to serialize.
+     * @return The serialized item.
+     * @throws IOException If the item could not be serialized.
+     */
+    static byte[] encodeItem(ItemStack item) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (BukkitObjectOutputStream out = new BukkitObjectOutputStream(bytes)) {
+            out.writeObject(item);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserializes an item written by {@link #encodeItem(ItemStack)}.
+     * @param data The serialized item.
+     * @return The item.
+     * @throws IOException If the data is not a valid item.
+     */
+    static ItemStack decodeItem(byte[] data) throws IOException {
+        try (BukkitObjectInputStream in = new BukkitObjectInputStream(new ByteArrayInputStream(data))) {
+            return (ItemStack) in.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Invalid sold item data: " + e.getMessage(), e);
+        }
+    }
+}
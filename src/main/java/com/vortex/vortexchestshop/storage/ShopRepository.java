@@ -0,0 +1,79 @@
+// src/main/java/com/vortex/vortexchestshop/storage/ShopRepository.java
+
+package com.vortex.vortexchestshop.storage;
+
+import org.bukkit.Material;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persistence backend for shops.
+ * ShopManager only talks to this interface, so the storage format can be chosen in config.yml
+ * (storage.type) without touching the rest of the plugin.
+ * <p>
+ * {@link #write} is called from the storage thread; all other methods may be called from any thread,
+ * but query methods perform I/O and should not be called on the main thread while the server is running.
+ */
+public interface ShopRepository {
+
+    /**
+     * @return true if the repository already contains shop data.
+     * @throws IOException If the backend cannot be queried.
+     */
+    boolean hasData() throws IOException;
+
+    /**
+     * Loads every stored shop.
+     * @return All stored shop records.
+     * @throws IOException If the backend cannot be read.
+     */
+    List<ShopRecord> loadAll() throws IOException;
+
+    /**
+     * Loads the shops of a single world.
+     * @param worldName The name of the world.
+     * @return The shop records in that world.
+     * @throws IOException If the backend cannot be read.
+     */
+    List<ShopRecord> loadWorld(String worldName) throws IOException;
+
+    /**
+     * Applies a batch of changes in a single write.
+     * @param upserts Shops to create or overwrite.
+     * @param deletions IDs of shops to remove.
+     * @throws IOException If the batch could not be written. Writes are idempotent, so the caller retries the whole batch.
+     */
+    void write(Collection<ShopRecord> upserts, Collection<UUID> deletions) throws IOException;
+
+    /**
+     * Counts the shops owned by a player.
+     * @param ownerUUID The UUID of the owner.
+     * @return The number of stored shops owned by the player.
+     * @throws IOException If the backend cannot be read.
+     */
+    int countByOwner(UUID ownerUUID) throws IOException;
+
+    /**
+     * Finds the shops owned by a player.
+     * @param ownerUUID The UUID of the owner.
+     * @return The owner's shop records.
+     * @throws IOException If the backend cannot be read.
+     */
+    List<ShopRecord> findByOwner(UUID ownerUUID) throws IOException;
+
+    /**
+     * Finds the shops selling a given item type.
+     * @param material The material of the sold item.
+     * @return The matching shop records.
+     * @throws IOException If the backend cannot be read.
+     */
+    List<ShopRecord> findByMaterial(Material material) throws IOException;
+
+    /**
+     * Releases any resources held by the repository. Called after the final flush.
+     */
+    void close();
+}
@@ -0,0 +1,179 @@
+// src/main/java/com/vortex/vortexchestshop/storage/ShopWriteQueue.java
+
+package com.vortex.vortexchestshop.storage;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.utils.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind queue for shop persistence.
+ * Shop changes are recorded as dirty snapshots on the main thread; repeated changes to the same shop
+ * are merged, and the pending batch is written by a single background thread either on a fixed
+ * interval or as soon as the number of pending changes reaches the configured limit.
+ * Every change is also appended to the transaction ledger, so changes that have not been flushed yet
+ * survive a crash and are replayed on the next start.
+ */
+public class ShopWriteQueue {
+
+    private final VortexChestShop plugin;
+    private final ShopRepository repository;
+    private final TransactionLedger ledger;
+    // Pending changes, keyed by shop ID. A shop is either pending an upsert or a deletion, never both.
+    private final Map<UUID, ShopRecord> pendingUpserts;
+    private final Set<UUID> pendingDeletions;
+    // Single writer thread so batches reach the disk in the order they were drained
+    private final ExecutorService flushExecutor;
+    // Set while a flush is queued on the executor, so bursts of requests collapse into one flush
+    private final AtomicBoolean flushQueued;
+    private final int maxPendingChanges;
+    private BukkitTask flushTimer;
+
+    public ShopWriteQueue(VortexChestShop plugin, ShopRepository repository, TransactionLedger ledger) {
+        this.plugin = plugin;
+        this.repository = repository;
+        this.ledger = ledger;
+        this.pendingUpserts = new LinkedHashMap<>();
+        this.pendingDeletions = new HashSet<>();
+        this.flushQueued = new AtomicBoolean(false);
+        this.maxPendingChanges = Math.max(1, plugin.getConfig().getInt("storage.max-pending-changes", 256));
+        this.flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "VortexChestShop-Storage");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the periodic flush timer.
+     */
+    public void start() {
+        long flushInterval = Math.max(1L, plugin.getConfig().getLong("storage.flush-interval", 100));
+        flushTimer = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::requestFlush, flushInterval, flushInterval);
+    }
+
+    /**
+     * Marks a shop as changed. Any earlier pending change for the same shop is replaced.
+     * @param record The snapshot of the shop to write.
+     */
+    public void markDirty(ShopRecord record) {
+        int pending;
+        synchronized (this) {
+            ledger.appendShopUpsert(record);
+            pendingDeletions.remove(record.getId());
+            pendingUpserts.put(record.getId(), record);
+            pending = pendingUpserts.size() + pendingDeletions.size();
+        }
+        if (pending >= maxPendingChanges) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * Marks a shop as deleted. Any pending write for the same shop is discarded.
+     * @param shopId The ID of the shop to delete.
+     */
+    public void markDeleted(UUID shopId) {
+        int pending;
+        synchronized (this) {
+            ledger.appendShopDelete(shopId);
+            pendingUpserts.remove(shopId);
+            pendingDeletions.add(shopId);
+            pending = pendingUpserts.size() + pendingDeletions.size();
+        }
+        if (pending >= maxPendingChanges) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * Queues a flush on the storage thread unless one is already queued.
+     */
+    public void requestFlush() {
+        if (flushQueued.compareAndSet(false, true)) {
+            flushExecutor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Stops the flush timer, writes any remaining changes and blocks until the storage thread has finished.
+     * Called from onDisable.
+     */
+    public void shutdown() {
+        if (flushTimer != null) {
+            flushTimer.cancel();
+            flushTimer = null;
+        }
+        flushExecutor.execute(this::flush);
+        flushExecutor.shutdown();
+        try {
+            if (!flushExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                Logger.severe("Timed out waiting for pending shop data to be written!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Logger.severe("Interrupted while waiting for pending shop data to be written!");
+        }
+    }
+
+    /**
+     * Drains the pending changes and writes them to the repository. Runs on the storage thread only.
+     */
+    private void flush() {
+        flushQueued.set(false);
+
+        List<ShopRecord> upserts;
+        Set<UUID> deletions;
+        long coveredSequence;
+        synchronized (this) {
+            if (pendingUpserts.isEmpty() && pendingDeletions.isEmpty()) {
+                return;
+            }
+            // Ledger appends happen under this lock, so every shop change up to this sequence is in the batch or already written
+            coveredSequence = ledger.getLastSequence();
+            upserts = new ArrayList<>(pendingUpserts.values());
+            deletions = new HashSet<>(pendingDeletions);
+            pendingUpserts.clear();
+            pendingDeletions.clear();
+        }
+
+        try {
+            repository.write(upserts, deletions);
+            ledger.markSnapshot(coveredSequence);
+            Logger.debug("Flushed " + upserts.size() + " shop updates and " + deletions.size() + " deletions to disk.");
+        } catch (IOException e) {
+            Logger.severe("Failed to write shop data: " + e.getMessage() + ". Changes will be retried on the next flush.");
+            requeue(upserts, deletions);
+        }
+    }
+
+    /**
+     * Puts a failed batch back into the queue without overwriting changes made since it was drained.
+     */
+    private synchronized void requeue(List<ShopRecord> upserts, Set<UUID> deletions) {
+        for (ShopRecord record : upserts) {
+            if (!pendingDeletions.contains(record.getId())) {
+                pendingUpserts.putIfAbsent(record.getId(), record);
+            }
+        }
+        for (UUID shopId : deletions) {
+            if (!pendingUpserts.containsKey(shopId)) {
+                pendingDeletions.add(shopId);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+// src/main/java/com/vortex/vortexchestshop/storage/SqliteShopRepository.java
+
+package com.vortex.vortexchestshop.storage;
+
+import com.vortex.vortexchestshop.utils.Logger;
+import org.bukkit.Material;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Shop repository backed by an embedded SQLite database (shops.db).
+ * <p>
+ * The SQLite JDBC driver ships with Spigot, so no external service or extra dependency is needed.
+ * SQLite serializes all writers, so a single long-lived connection is kept open and shared by every
+ * caller instead of a connection pool. Writes are applied as batched upserts inside one transaction,
+ * and the owner, world/chunk and material columns are indexed for the query methods.
+ */
+public class SqliteShopRepository implements ShopRepository {
+
+    private static final String COLUMNS = "id, owner, world, x, y, z, chunk_x, chunk_z, material, item, price, quantity, display_enabled";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM shops";
+    private static final String UPSERT = "INSERT INTO shops (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT(id) DO UPDATE SET owner = excluded.owner, world = excluded.world, x = excluded.x, y = excluded.y, "
+            + "z = excluded.z, chunk_x = excluded.chunk_x, chunk_z = excluded.chunk_z, material = excluded.material, "
+            + "item = excluded.item, price = excluded.price, quantity = excluded.quantity, display_enabled = excluded.display_enabled";
+    private static final String DELETE = "DELETE FROM shops WHERE id = ?";
+
+    private final File databaseFile;
+    private Connection connection;
+
+    public SqliteShopRepository(File databaseFile) throws IOException {
+        this.databaseFile = databaseFile;
+        try {
+            Class.forName("org.sqlite.JDBC");
+            createSchema();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("SQLite JDBC driver not found on the server", e);
+        } catch (SQLException e) {
+            throw new IOException("Failed to initialize " + databaseFile.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void createSchema() throws SQLException {
+        try (Statement statement = getConnection().createStatement()) {
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS shops ("
+                    + "id TEXT PRIMARY KEY, "
+                    + "owner TEXT NOT NULL, "
+                    + "world TEXT NOT NULL, "
+                    + "x INTEGER NOT NULL, y INTEGER NOT NULL, z INTEGER NOT NULL, "
+                    + "chunk_x INTEGER NOT NULL, chunk_z INTEGER NOT NULL, "
+                    + "material TEXT NOT NULL, "
+                    + "item BLOB NOT NULL, "
+                    + "price REAL NOT NULL, "
+                    + "quantity INTEGER NOT NULL, "
+                    + "display_enabled INTEGER NOT NULL)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_shops_owner ON shops (owner)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_shops_world_chunk ON shops (world, chunk_x, chunk_z)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_shops_material ON shops (material)");
+        }
+    }
+
+    /**
+     * Returns the shared connection, reopening it if it was closed or lost.
+     */
+    private synchronized Connection getConnection() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                // WAL lets reads proceed while a batch is being written
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+            }
+        }
+        return connection;
+    }
+
+    @Override
+    public synchronized boolean hasData() throws IOException {
+        try (Statement statement = getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT 1 FROM shops LIMIT 1")) {
+            return resultSet.next();
+        } catch (SQLException e) {
+            throw new IOException("Failed to query shops: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized List<ShopRecord> loadAll() throws IOException {
+        return query(SELECT);
+    }
+
+    @Override
+    public synchronized List<ShopRecord> loadWorld(String worldName) throws IOException {
+        return query(SELECT + " WHERE world = ?", worldName);
+    }
+
+    @Override
+    public synchronized void write(Collection<ShopRecord> upserts, Collection<UUID> deletions) throws IOException {
+        try {
+            Connection conn = getConnection();
+            conn.setAutoCommit(false);
+            try (PreparedStatement upsert = conn.prepareStatement(UPSERT);
+                 PreparedStatement delete = conn.prepareStatement(DELETE)) {
+                for (ShopRecord record : upserts) {
+                    upsert.setString(1, record.getId().toString());
+                    upsert.setString(2, record.getOwnerUUID().toString());
+                    upsert.setString(3, record.getWorldName());
+                    upsert.setInt(4, record.getX());
+                    upsert.setInt(5, record.getY());
+                    upsert.setInt(6, record.getZ());
+                    upsert.setInt(7, record.getX() >> 4);
+                    upsert.setInt(8, record.getZ() >> 4);
+                    upsert.setString(9, record.getSoldItem().getType().name());
+                    upsert.setBytes(10, ShopRecordCodec.encodeItem(record.getSoldItem()));
+                    upsert.setDouble(11, record.getPrice());
+                    upsert.setInt(12, record.getQuantity());
+                    upsert.setInt(13, record.isDisplayEnabled() ? 1 : 0);
+                    upsert.addBatch();
+                }
+                for (UUID shopId : deletions) {
+                    delete.setString(1, shopId.toString());
+                    delete.addBatch();
+                }
+                upsert.executeBatch();
+                delete.executeBatch();
+                conn.commit();
+            } catch (SQLException | IOException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to write shops: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized int countByOwner(UUID ownerUUID) throws IOException {
+        try (PreparedStatement statement = getConnection().prepareStatement("SELECT COUNT(*) FROM shops WHERE owner = ?")) {
+            statement.setString(1, ownerUUID.toString());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to count shops: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized List<ShopRecord> findByOwner(UUID ownerUUID) throws IOException {
+        return query(SELECT + " WHERE owner = ?", ownerUUID.toString());
+    }
+
+    @Override
+    public synchronized List<ShopRecord> findByMaterial(Material material) throws IOException {
+        return query(SELECT + " WHERE material = ?", material.name());
+    }
+
+    @Override
+    public synchronized void close() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            Logger.warning("Failed to close " + databaseFile.getName() + ": " + e.getMessage());
+        }
+        connection = null;
+    }
+
+    /**
+     * Runs a SELECT with string parameters and decodes every row.
+     * Rows whose item cannot be decoded are logged and skipped.
+     */
+    private List<ShopRecord> query(String sql, String... parameters) throws IOException {
+        List<ShopRecord> records = new ArrayList<>();
+        try (PreparedStatement statement = getConnection().prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String id = resultSet.getString("id");
+                    try {
+                        records.add(new ShopRecord(
+                                UUID.fromString(id),
+                                UUID.fromString(resultSet.getString("owner")),
+                                resultSet.getString("world"),
+                                resultSet.getInt("x"),
+                                resultSet.getInt("y"),
+                                resultSet.getInt("z"),
+                                ShopRecordCodec.decodeItem(resultSet.getBytes("item")),
+                                resultSet.getDouble("price"),
+                                resultSet.getInt("quantity"),
+                                resultSet.getInt("display_enabled") != 0));
+                    } catch (IOException | IllegalArgumentException e) {
+                        Logger.severe("Skipping unreadable shop row " + id + ": " + e.getMessage());
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to query shops: " + e.getMessage(), e);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,770 @@
+// src/main/java/com/vortex/vortexchestshop/storage/TransactionLedger.java
+
+package com.vortex.vortexchestshop.storage;
+
+import com.vortex.vortexchestshop.VortexChestShop;
+import com.vortex.vortexchestshop.models.ChestShop;
+import com.vortex.vortexchestshop.utils.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only ledger (ledger.log) of shop state changes and purchases.
+ * <p>
+ * Appends only buffer the entry in memory. Once per tick, a group commit writes every buffered entry
+ * and covers them with a single fsync, so the main thread never waits for the disk. Purchases made on the main
+ * thread are therefore durable within a tick: a crash in that window can lose their entries or leave a purchase
+ * reported at an earlier stage than it reached. Purchases paid on the economy thread (economy.async-transactions)
+ * call {@link #commit()} themselves, so their BEGIN entry is on disk before any money moves. They take the items
+ * out of the chest first and record that with a RESERVED entry, so items held by a purchase that never finished
+ * are reported as well.
+ * A background compactor periodically drops shop changes that are already part of the repository
+ * snapshot and purchases that have completed. It rewrites the ledger without blocking commits and only holds
+ * the I/O lock to copy over what was committed meanwhile and swap the files. On startup, the remaining tail is
+ * replayed into the repository and unfinished purchases are reported for reconciliation.
+ * <p>
+ * Entry layout (big-endian): int body length, body, int CRC32 of body.
+ * Body: byte type, long sequence, long timestamp (epoch millis), payload.
+ * A torn or corrupt entry (e.g. after a crash mid-write) ends the replay; on startup it and everything after it
+ * are moved to ledger.log.damaged, so new entries are never appended behind an unreadable one.
+ */
+public class TransactionLedger {
+
+    public static final byte SHOP_UPSERT = 1;
+    public static final byte SHOP_DELETE = 2;
+    public static final byte PURCHASE_BEGIN = 10;
+    public static final byte PURCHASE_WITHDRAWN = 11;
+    public static final byte PURCHASE_COMMIT = 12;
+    public static final byte PURCHASE_ROLLBACK = 13;
+    // Written after an unfinished purchase has been reported, so it is only reported once
+    public static final byte PURCHASE_ABANDONED = 14;
+    // Written before a purchase on the economy thread takes the items out of the chest, ahead of its BEGIN
+    public static final byte PURCHASE_RESERVED = 15;
+    // Written when a paid purchase was refunded to the buyer but the owner's share could not be taken back
+    public static final byte PURCHASE_BUYER_REFUNDED = 16;
+
+    private static final int BODY_HEADER_SIZE = 1 + 8 + 8;
+
+    /**
+     * Receives the ledger's log messages. The plugin logs them to the console; tests collect them instead.
+     */
+    interface LogSink {
+        void info(String message);
+        void warning(String message);
+        void severe(String message);
+        void debug(String message);
+    }
+
+    // Logs through the plugin's console logger
+    private static final LogSink CONSOLE = new LogSink() {
+        @Override
+        public void info(String message) {
+            Logger.info(message);
+        }
+
+        @Override
+        public void warning(String message) {
+            Logger.warning(message);
+        }
+
+        @Override
+        public void severe(String message) {
+            Logger.severe(message);
+        }
+
+        @Override
+        public void debug(String message) {
+            Logger.debug(message);
+        }
+    };
+
+    private final VortexChestShop plugin;
+    private final LogSink log;
+    private final Path file;
+    private final Path tempFile;
+    private final Path damagedFile;
+    private final File unresolvedReportFile;
+
+    // Entries appended since the last group commit. Guarded by pendingLock.
+    private final Object pendingLock = new Object();
+    private List<PendingEntry> pending;
+    private long nextSequence;
+
+    // File channel used for appends. Guarded by ioLock, which also serializes commits and compactions.
+    private final Object ioLock = new Object();
+    private FileChannel channel;
+    // Length of the file up to the end of the last successful commit. Guarded by ioLock.
+    private long committedSize;
+    // Serializes compactions, which do most of their work without holding ioLock
+    private final Object compactionLock = new Object();
+
+    // Highest sequence number whose shop changes are contained in the repository snapshot
+    private volatile long snapshotSequence;
+
+    private BukkitTask commitTask;
+    private BukkitTask compactionTask;
+
+    public TransactionLedger(VortexChestShop plugin) {
+        this(plugin, plugin.getDataFolder(), CONSOLE);
+    }
+
+    /**
+     * Creates a ledger in a given folder. The plugin is only needed by {@link #start()}.
+     * @param log Receives the ledger's log messages.
+     */
+    TransactionLedger(VortexChestShop plugin, File dataFolder, LogSink log) {
+        this.plugin = plugin;
+        this.log = log;
+        this.file = new File(dataFolder, "ledger.log").toPath();
+        this.tempFile = new File(dataFolder, "ledger.log.tmp").toPath();
+        this.damagedFile = new File(dataFolder, "ledger.log.damaged").toPath();
+        this.unresolvedReportFile = new File(dataFolder, "unresolved-purchases.log");
+        this.pending = new ArrayList<>();
+        this.nextSequence = 1;
+        this.snapshotSequence = 0;
+    }
+
+    /**
+     * Starts the per-tick group commit and the periodic compactor.
+     */
+    public void start() {
+        commitTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::commit, 1L, 1L);
+        long compactionInterval = Math.max(20L, plugin.getConfig().getLong("storage.ledger-compaction-interval", 6000));
+        compactionTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::compact, compactionInterval, compactionInterval);
+    }
+
+    // --- Appending ---
+
+    /**
+     * Appends a shop creation or update. The record is encoded on the ledger thread during the next commit.
+     * @param record The snapshot of the shop.
+     * @return The sequence number of the entry.
+     */
+    public long appendShopUpsert(ShopRecord record) {
+        return append(SHOP_UPSERT, null, record);
+    }
+
+    /**
+     * Appends a shop deletion.
+     * @param shopId The ID of the deleted shop.
+     * @return The sequence number of the entry.
+     */
+    public long appendShopDelete(UUID shopId) {
+        return append(SHOP_DELETE, putUUID(ByteBuffer.allocate(16), shopId).array(), null);
+    }
+
+    /**
+     * Records the start of a purchase, before any money is moved. The entry is written by the next group commit;
+     * callers off the main thread can {@link #commit()} themselves and only move money if that succeeds.
+     * @param shop The shop being bought from.
+     * @param buyer The UUID of the buyer.
+     * @param quantity The number of items being bought.
+     * @param totalCost The amount withdrawn from the buyer.
+     * @param taxAmount The part of the cost kept as tax.
+     * @return The transaction ID to use for the following purchase stages.
+     */
+    public UUID beginPurchase(ChestShop shop, UUID buyer, int quantity, double totalCost, double taxAmount) {
+        return beginPurchase(shop.getId(), shop.getOwnerUUID(), buyer, quantity, totalCost, taxAmount);
+    }
+
+    UUID beginPurchase(UUID shopId, UUID ownerUUID, UUID buyer, int quantity, double totalCost, double taxAmount) {
+        UUID transactionId = UUID.randomUUID();
+        beginPurchase(transactionId, shopId, ownerUUID, buyer, quantity, totalCost, taxAmount);
+        return transactionId;
+    }
+
+    /**
+     * Records that items are taken out of a shop's chest for a purchase that is paid later. Until the purchase
+     * is begun with {@link #beginReservedPurchase} and resolved, or rolled back, it is reported as unfinished.
+     * @param shop The shop being bought from.
+     * @param buyer The UUID of the buyer.
+     * @param quantity The number of items taken out of the chest.
+     * @return The transaction ID to use for the following purchase stages.
+     */
+    public UUID reservePurchase(ChestShop shop, UUID buyer, int quantity) {
+        return reservePurchase(shop.getId(), shop.getOwnerUUID(), buyer, quantity);
+    }
+
+    UUID reservePurchase(UUID shopId, UUID ownerUUID, UUID buyer, int quantity) {
+        UUID transactionId = UUID.randomUUID();
+        ByteBuffer payload = ByteBuffer.allocate(16 * 4 + 4);
+        putUUID(payload, transactionId);
+        putUUID(payload, shopId);
+        putUUID(payload, buyer);
+        putUUID(payload, ownerUUID);
+        payload.putInt(quantity);
+        append(PURCHASE_RESERVED, payload.array(), null);
+        return transactionId;
+    }
+
+    /**
+     * Records the start of a purchase reserved with {@link #reservePurchase}, before any money is moved.
+     * @param transactionId The transaction ID returned by {@link #reservePurchase}.
+     * @param shop The shop being bought from.
+     * @param buyer The UUID of the buyer.
+     * @param quantity The number of items being bought.
+     * @param totalCost The amount withdrawn from the buyer.
+     * @param taxAmount The part of the cost kept as tax.
+     */
+    public void beginReservedPurchase(UUID transactionId, ChestShop shop, UUID buyer, int quantity, double totalCost, double taxAmount) {
+        beginPurchase(transactionId, shop.getId(), shop.getOwnerUUID(), buyer, quantity, totalCost, taxAmount);
+    }
+
+    void beginPurchase(UUID transactionId, UUID shopId, UUID ownerUUID, UUID buyer, int quantity,
+                       double totalCost, double taxAmount) {
+        ByteBuffer payload = ByteBuffer.allocate(16 * 4 + 4 + 8 + 8);
+        putUUID(payload, transactionId);
+        putUUID(payload, shopId);
+        putUUID(payload, buyer);
+        putUUID(payload, ownerUUID);
+        payload.putInt(quantity).putDouble(totalCost).putDouble(taxAmount);
+        append(PURCHASE_BEGIN, payload.array(), null);
+    }
+
+    /**
+     * Records a later stage of a purchase started with {@link #beginPurchase} or {@link #reservePurchase}.
+     * @param transactionId The transaction ID.
+     * @param stage One of PURCHASE_WITHDRAWN, PURCHASE_BUYER_REFUNDED, PURCHASE_COMMIT or PURCHASE_ROLLBACK.
+     */
+    public void recordPurchaseStage(UUID transactionId, byte stage) {
+        append(stage, putUUID(ByteBuffer.allocate(16), transactionId).array(), null);
+    }
+
+    private long append(byte type, byte[] payload, ShopRecord record) {
+        synchronized (pendingLock) {
+            long sequence = nextSequence++;
+            pending.add(new PendingEntry(type, sequence, System.currentTimeMillis(), payload, record));
+            return sequence;
+        }
+    }
+
+    /**
+     * @return The sequence number of the most recently appended entry.
+     */
+    public long getLastSequence() {
+        synchronized (pendingLock) {
+            return nextSequence - 1;
+        }
+    }
+
+    /**
+     * Marks every shop change up to the given sequence number as contained in the repository snapshot,
+     * making it eligible for compaction.
+     * @param sequence The highest sequence number written to the repository.
+     */
+    public void markSnapshot(long sequence) {
+        if (sequence > snapshotSequence) {
+            snapshotSequence = sequence;
+        }
+    }
+
+    // --- Group commit ---
+
+    /**
+     * Writes every buffered entry and syncs the file once. Runs once per tick on an async thread, and directly on
+     * the economy thread right after {@link #beginPurchase}, so the purchase is on disk before any money moves.
+     * Must not be called on the main thread.
+     * <p>
+     * If the write fails, the file is cut back to the end of the last successful commit and the batch is put back
+     * in front of the buffer, so it is retried by the next commit and no torn entry is left in front of later ones.
+     * @return true if every entry appended before the call is on disk.
+     */
+    public boolean commit() {
+        // The batch is taken while holding ioLock, so concurrent commits write their batches in sequence order
+        synchronized (ioLock) {
+            if (channel == null) {
+                return false; // Not opened yet (recovery has not run); the entries stay buffered
+            }
+            List<PendingEntry> batch;
+            synchronized (pendingLock) {
+                if (pending.isEmpty()) {
+                    return true;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+
+            List<ByteBuffer> frames = new ArrayList<>(batch.size());
+            for (Iterator<PendingEntry> iterator = batch.iterator(); iterator.hasNext(); ) {
+                PendingEntry entry = iterator.next();
+                try {
+                    frames.add(encodeEntry(entry));
+                } catch (IOException e) {
+                    // Retrying cannot fix an entry that does not encode; the next upsert of the shop replaces it
+                    log.severe("Dropping ledger entry #" + entry.sequence + " that could not be encoded: " + e.getMessage());
+                    iterator.remove();
+                }
+            }
+
+            try {
+                if (channel.size() != committedSize) {
+                    channel.truncate(committedSize); // A previous commit failed halfway and could not cut its tail
+                }
+                for (ByteBuffer frame : frames) {
+                    writeFully(channel, frame);
+                }
+                channel.force(false);
+                committedSize = channel.size();
+                return true;
+            } catch (IOException e) {
+                log.severe("Failed to write " + batch.size() + " ledger entries: " + e.getMessage() + ". Retrying with the next commit.");
+                try {
+                    channel.truncate(committedSize);
+                } catch (IOException truncateException) {
+                    log.severe("Failed to cut the partial write from ledger.log: " + truncateException.getMessage());
+                }
+                synchronized (pendingLock) {
+                    batch.addAll(pending);
+                    pending = batch;
+                }
+                return false;
+            }
+        }
+    }
+
+    // --- Compaction ---
+
+    /**
+     * Rewrites the ledger without shop changes already in the repository snapshot and without
+     * completed purchases. Runs periodically on an async thread.
+     * <p>
+     * Only the entries committed when the compaction starts are read and rewritten, without holding the I/O lock,
+     * so commits continue meanwhile. The lock is then taken just to append the entries committed in the meantime
+     * to the rewritten file and swap it in.
+     */
+    public void compact() {
+        synchronized (compactionLock) {
+            long upTo = snapshotSequence;
+            long length;
+            synchronized (ioLock) {
+                if (channel == null) {
+                    return;
+                }
+                length = committedSize;
+            }
+            try {
+                List<LedgerEntry> entries = new ArrayList<>();
+                readEntries(length, entries);
+                Set<UUID> resolved = new HashSet<>();
+                for (LedgerEntry entry : entries) {
+                    if (entry.isPurchaseResolution()) {
+                        resolved.add(entry.getTransactionId());
+                    }
+                }
+
+                List<LedgerEntry> kept = new ArrayList<>();
+                for (LedgerEntry entry : entries) {
+                    if (entry.isShopChange() ? entry.sequence > upTo : !resolved.contains(entry.getTransactionId())) {
+                        kept.add(entry);
+                    }
+                }
+                if (kept.size() == entries.size()) {
+                    return; // Nothing to drop
+                }
+
+                try (FileChannel out = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                    for (LedgerEntry entry : kept) {
+                        writeFully(out, frame(entry.body));
+                    }
+                }
+
+                synchronized (ioLock) {
+                    if (channel == null) {
+                        Files.deleteIfExists(tempFile); // Closed meanwhile
+                        return;
+                    }
+                    try {
+                        appendCommittedSince(length);
+                        channel.close();
+                        channel = null;
+                        try {
+                            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                        } catch (AtomicMoveNotSupportedException e) {
+                            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+                        }
+                    } finally {
+                        if (channel == null) {
+                            openChannel();
+                        }
+                    }
+                }
+                log.debug("Compacted ledger from " + entries.size() + " to " + kept.size() + " entries.");
+            } catch (IOException e) {
+                log.severe("Failed to compact ledger: " + e.getMessage());
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException deleteException) {
+                    log.warning("Failed to delete " + tempFile.getFileName() + ": " + deleteException.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the entries committed after a given length of the ledger to the rewritten temp file and syncs it.
+     * Must be called while holding ioLock.
+     */
+    private void appendCommittedSince(long length) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long position = length;
+            while (position < committedSize) {
+                position += in.transferTo(position, committedSize - position, out);
+            }
+            out.force(true);
+        }
+    }
+
+    // --- Recovery ---
+
+    /**
+     * Replays the ledger tail into the repository and reports unfinished purchases.
+     * Must be called on startup before shops are loaded; opens the ledger for appending afterwards.
+     * @param repository The repository holding the shop snapshot.
+     */
+    public void recover(ShopRepository repository) {
+        synchronized (ioLock) {
+            List<LedgerEntry> entries = new ArrayList<>();
+            try {
+                long intactLength = readEntries(Long.MAX_VALUE, entries);
+                try {
+                    cutDamagedTail(intactLength);
+                } catch (IOException e) {
+                    log.severe("Failed to cut the unreadable end of ledger.log: " + e.getMessage());
+                }
+            } catch (IOException e) {
+                log.severe("Failed to read ledger.log: " + e.getMessage() + ". Skipping recovery.");
+                entries.clear();
+            }
+
+            long maxSequence = 0;
+            // Latest change per shop, in sequence order; a null value marks a deletion
+            Map<UUID, ShopRecord> shopChanges = new LinkedHashMap<>();
+            Map<UUID, LedgerEntry> openPurchases = new LinkedHashMap<>();
+            Map<UUID, Byte> purchaseStages = new LinkedHashMap<>();
+            for (LedgerEntry entry : entries) {
+                maxSequence = Math.max(maxSequence, entry.sequence);
+                try {
+                    switch (entry.type) {
+                        case SHOP_UPSERT:
+                            ShopRecord record = ShopRecordCodec.decode(entry.payload());
+                            shopChanges.remove(record.getId());
+                            shopChanges.put(record.getId(), record);
+                            break;
+                        case SHOP_DELETE:
+                            UUID shopId = getUUID(entry.payload());
+                            shopChanges.remove(shopId);
+                            shopChanges.put(shopId, null);
+                            break;
+                        case PURCHASE_RESERVED:
+                        case PURCHASE_BEGIN:
+                            openPurchases.put(entry.getTransactionId(), entry);
+                            purchaseStages.put(entry.getTransactionId(), entry.type);
+                            break;
+                        case PURCHASE_WITHDRAWN:
+                        case PURCHASE_BUYER_REFUNDED:
+                            purchaseStages.put(entry.getTransactionId(), entry.type);
+                            break;
+                        default:
+                            // COMMIT, ROLLBACK or ABANDONED
+                            openPurchases.remove(entry.getTransactionId());
+                            break;
+                    }
+                } catch (IOException e) {
+                    log.severe("Skipping unreadable ledger entry #" + entry.sequence + ": " + e.getMessage());
+                }
+            }
+
+            synchronized (pendingLock) {
+                nextSequence = Math.max(nextSequence, maxSequence + 1);
+            }
+
+            if (!shopChanges.isEmpty()) {
+                List<ShopRecord> upserts = new ArrayList<>();
+                List<UUID> deletions = new ArrayList<>();
+                for (Map.Entry<UUID, ShopRecord> change : shopChanges.entrySet()) {
+                    if (change.getValue() == null) {
+                        deletions.add(change.getKey());
+                    } else {
+                        upserts.add(change.getValue());
+                    }
+                }
+                try {
+                    repository.write(upserts, deletions);
+                    snapshotSequence = maxSequence;
+                    log.info("Recovered " + upserts.size() + " shop updates and " + deletions.size() + " deletions from ledger.log.");
+                } catch (IOException e) {
+                    log.severe("Failed to replay ledger into shop storage: " + e.getMessage() + ". The ledger is kept for the next start.");
+                }
+            }
+
+            openChannel();
+            reportUnresolvedPurchases(openPurchases, purchaseStages);
+        }
+    }
+
+    /**
+     * Logs purchases that never completed, appends them to unresolved-purchases.log for an admin
+     * to reconcile, and marks them as abandoned so they are reported only once.
+     */
+    private void reportUnresolvedPurchases(Map<UUID, LedgerEntry> openPurchases, Map<UUID, Byte> purchaseStages) {
+        if (openPurchases.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        for (LedgerEntry begin : openPurchases.values()) {
+            // The latest RESERVED or BEGIN entry of the purchase
+            ByteBuffer payload = begin.payload();
+            UUID transactionId = getUUID(payload);
+            UUID shopId = getUUID(payload);
+            UUID buyer = getUUID(payload);
+            UUID owner = getUUID(payload);
+            int quantity = payload.getInt();
+            String line = Instant.ofEpochMilli(begin.timestamp) + " transaction=" + transactionId + " shop=" + shopId
+                    + " buyer=" + buyer + " owner=" + owner + " quantity=" + quantity;
+            byte stage = purchaseStages.get(transactionId);
+            if (stage == PURCHASE_RESERVED) {
+                line += " stage=RESERVED (items taken from the chest, buyer not charged)";
+            } else {
+                line += " cost=" + payload.getDouble() + " tax=" + payload.getDouble() + " stage=";
+                if (stage == PURCHASE_BUYER_REFUNDED) {
+                    line += "BUYER_REFUNDED (items returned and buyer refunded, owner kept their share)";
+                } else if (stage == PURCHASE_WITHDRAWN) {
+                    line += "WITHDRAWN (buyer charged, owner may not be credited)";
+                } else {
+                    line += "BEGIN (buyer may have been charged)";
+                }
+            }
+            lines.add(line);
+            log.severe("Unfinished purchase found in ledger: " + line);
+            recordPurchaseStage(transactionId, PURCHASE_ABANDONED);
+        }
+        try {
+            Files.write(unresolvedReportFile.toPath(), lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            log.severe(lines.size() + " unfinished purchases were written to " + unresolvedReportFile.getName() + " for reconciliation.");
+        } catch (IOException e) {
+            log.severe("Failed to write " + unresolvedReportFile.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the background tasks, commits the remaining entries, compacts and closes the ledger.
+     * Called after the final repository flush.
+     */
+    public void shutdown() {
+        if (commitTask != null) {
+            commitTask.cancel();
+            commitTask = null;
+        }
+        if (compactionTask != null) {
+            compactionTask.cancel();
+            compactionTask = null;
+        }
+        commit();
+        compact();
+        synchronized (ioLock) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    log.warning("Failed to close ledger.log: " + e.getMessage());
+                }
+                channel = null;
+            }
+        }
+    }
+
+    // --- File helpers ---
+
+    private void openChannel() {
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            committedSize = channel.size();
+        } catch (IOException e) {
+            log.severe("Failed to open ledger.log for writing: " + e.getMessage() + ". Transactions will not be recorded.");
+        }
+    }
+
+    /**
+     * Cuts everything after the intact entries from the ledger file, so new entries are not appended behind a
+     * torn or corrupt one where they could never be read back. The cut bytes are kept in ledger.log.damaged.
+     */
+    private void cutDamagedTail(long intactLength) throws IOException {
+        if (!Files.exists(file) || Files.size(file) <= intactLength) {
+            return;
+        }
+        try (FileChannel damaged = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer tail = ByteBuffer.allocate((int) (damaged.size() - intactLength));
+            while (tail.hasRemaining() && damaged.read(tail, intactLength + tail.position()) >= 0) {
+                // Read until the tail is complete
+            }
+            tail.flip();
+            try (FileChannel out = FileChannel.open(damagedFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                writeFully(out, tail);
+                out.force(true);
+            }
+            damaged.truncate(intactLength);
+            damaged.force(true);
+        }
+        log.warning("Moved the unreadable end of ledger.log to " + damagedFile.getFileName() + ".");
+    }
+
+    /**
+     * Reads the intact entries from the first bytes of the ledger file, stopping at the first torn or corrupt entry.
+     * @param limit The number of bytes to read at most.
+     * @param entries The list to add the entries to.
+     * @return The length of the intact entries read.
+     */
+    private long readEntries(long limit, List<LedgerEntry> entries) throws IOException {
+        long intactLength = 0;
+        if (!Files.exists(file)) {
+            return intactLength;
+        }
+        ByteBuffer buffer;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = Math.min(limit, in.size());
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Ledger is too large to read (" + size + " bytes)");
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && in.read(buffer, buffer.position()) >= 0) {
+                // Keep reading until the buffer is full or the file ends
+            }
+            buffer.flip();
+        }
+        CRC32 crc = new CRC32();
+        while (buffer.hasRemaining()) {
+            if (buffer.remaining() < 4) {
+                log.warning("Ledger ends with a torn entry after " + entries.size() + " entries; ignoring the rest.");
+                break;
+            }
+            int length = buffer.getInt();
+            if (length < BODY_HEADER_SIZE || length + 4 > buffer.remaining()) {
+                log.warning("Ledger ends with a torn entry after " + entries.size() + " entries; ignoring the rest.");
+                break;
+            }
+            byte[] body = new byte[length];
+            buffer.get(body);
+            crc.reset();
+            crc.update(body);
+            if ((int) crc.getValue() != buffer.getInt()) {
+                log.warning("Ledger entry " + (entries.size() + 1) + " failed its checksum; ignoring the rest.");
+                break;
+            }
+            entries.add(new LedgerEntry(body));
+            intactLength = buffer.position();
+        }
+        return intactLength;
+    }
+
+    private static ByteBuffer encodeEntry(PendingEntry entry) throws IOException {
+        byte[] payload = entry.record != null ? ShopRecordCodec.encode(entry.record) : entry.payload;
+        ByteBuffer body = ByteBuffer.allocate(BODY_HEADER_SIZE + payload.length);
+        body.put(entry.type).putLong(entry.sequence).putLong(entry.timestamp).put(payload);
+        return frame(body.array());
+    }
+
+    private static ByteBuffer frame(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer framed = ByteBuffer.allocate(4 + body.length + 4);
+        framed.putInt(body.length).put(body).putInt((int) crc.getValue());
+        framed.flip();
+        return framed;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static ByteBuffer putUUID(ByteBuffer buffer, UUID uuid) {
+        return buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUUID(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * An entry appended but not yet committed to disk.
+     */
+    private static final class PendingEntry {
+        private final byte type;
+        private final long sequence;
+        private final long timestamp;
+        private final byte[] payload;
+        // Set instead of payload for SHOP_UPSERT, so the item is serialized off the main thread
+        private final ShopRecord record;
+
+        private PendingEntry(byte type, long sequence, long timestamp, byte[] payload, ShopRecord record) {
+            this.type = type;
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.payload = payload;
+            this.record = record;
+        }
+    }
+
+    /**
+     * An entry read back from the ledger file.
+     */
+    private static final class LedgerEntry {
+        private final byte[] body;
+        private final byte type;
+        private final long sequence;
+        private final long timestamp;
+
+        private LedgerEntry(byte[] body) {
+            ByteBuffer buffer = ByteBuffer.wrap(body);
+            this.body = body;
+            this.type = buffer.get();
+            this.sequence = buffer.getLong();
+            this.timestamp = buffer.getLong();
+        }
+
+        private ByteBuffer payload() {
+            return ByteBuffer.wrap(body, BODY_HEADER_SIZE, body.length - BODY_HEADER_SIZE).slice();
+        }
+
+        private boolean isShopChange() {
+            return type == SHOP_UPSERT || type == SHOP_DELETE;
+        }
+
+        private boolean isPurchaseResolution() {
+            return type == PURCHASE_COMMIT || type == PURCHASE_ROLLBACK || type == PURCHASE_ABANDONED;
+        }
+
+        /**
+         * @return The transaction ID of a purchase entry (always the first field of its payload).
+         */
+        private UUID getTransactionId() {
+            return getUUID(payload());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+// src/main/java/com/vortex/vortexchestshop/utils/BlockKey.java
+
+package com.vortex.vortexchestshop.utils;
+
+/**
+ * Packs block coordinates into a single long, using the same layout as Minecraft's block positions:
+ * 26 bits of X, 26 bits of Z and 12 bits of Y. This covers X/Z within +/-33 million and Y within -2048..2047.
+ * Packing allocates nothing, which makes it suitable as a map key on hot lookup paths.
+ */
+public final class BlockKey {
+
+    private static final int XZ_BITS = 26;
+    private static final int Y_BITS = 12;
+    private static final long XZ_MASK = (1L << XZ_BITS) - 1;
+    private static final long Y_MASK = (1L << Y_BITS) - 1;
+
+    private BlockKey() {
+    }
+
+    /**
+     * Packs block coordinates into a key.
+     * @param x The block X coordinate.
+     * @param y The block Y coordinate.
+     * @param z The block Z coordinate.
+     * @return The packed key.
+     */
+    public static long pack(int x, int y, int z) {
+        return ((x & XZ_MASK) << (XZ_BITS + Y_BITS)) | ((z & XZ_MASK) << Y_BITS) | (y & Y_MASK);
+    }
+
+    /**
+     * Packs chunk coordinates into a key, with X in the high and Z in the low 32 bits.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     * @return The packed key.
+     */
+    public static long packChunk(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param key A key created by {@link #pack(int, int, int)}.
+     * @return The block X coordinate.
+     */
+    public static int unpackX(long key) {
+        return (int) (key >> (XZ_BITS + Y_BITS));
+    }
+
+    /**
+     * @param key A key created by {@link #pack(int, int, int)}.
+     * @return The block Y coordinate.
+     */
+    public static int unpackY(long key) {
+        return (int) (key << (64 - Y_BITS) >> (64 - Y_BITS));
+    }
+
+    /**
+     * @param key A key created by {@link #pack(int, int, int)}.
+     * @return The block Z coordinate.
+     */
+    public static int unpackZ(long key) {
+        return (int) (key << (64 - XZ_BITS - Y_BITS) >> (64 - XZ_BITS));
+    }
+}
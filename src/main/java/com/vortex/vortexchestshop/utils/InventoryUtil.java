@@ -0,0 +1,103 @@
+// src/main/java/com/vortex/vortexchestshop/utils/InventoryUtil.java
+
+package com.vortex.vortexchestshop.utils;
+
+import com.vortex.vortexchestshop.models.ChestShop;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.List;
+
+/**
+ * Inventory helpers shared by the purchase paths. All methods must be called from the main thread.
+ */
+public final class InventoryUtil {
+
+    private InventoryUtil() {
+    }
+
+    /**
+     * Counts how many of an item fit into a player's inventory: the free space of partial stacks of the same item
+     * plus a full stack per empty slot.
+     * @param inventory The player's inventory.
+     * @param item The item to fit.
+     * @return The number of items that fit.
+     */
+    public static int getFreeSpace(PlayerInventory inventory, ItemStack item) {
+        int maxStackSize = item.getMaxStackSize();
+        int space = 0;
+        for (ItemStack slotItem : inventory.getStorageContents()) {
+            if (slotItem == null || slotItem.getType() == Material.AIR) {
+                space += maxStackSize;
+            } else if (slotItem.isSimilar(item)) {
+                space += Math.max(0, maxStackSize - slotItem.getAmount());
+            }
+        }
+        return space;
+    }
+
+    /**
+     * Removes up to an amount of a shop's sold item from a chest inventory in one pass.
+     * @param inventory The shop chest's inventory.
+     * @param shop The shop whose sold item to remove.
+     * @param amount The number of items to remove.
+     * @param removed If not null, receives a copy of every removed part of a stack.
+     * @return The number of items removed; less than {@code amount} if the chest did not hold enough.
+     */
+    public static int takeItems(Inventory inventory, ChestShop shop, int amount, List<ItemStack> removed) {
+        int removedCount = 0;
+        for (ItemStack chestItem : inventory.getContents()) {
+            if (shop.matchesSoldItem(chestItem)) {
+                int toRemove = Math.min(chestItem.getAmount(), amount - removedCount);
+                if (toRemove > 0) {
+                    if (removed != null) {
+                        ItemStack part = chestItem.clone();
+                        part.setAmount(toRemove);
+                        removed.add(part);
+                    }
+                    chestItem.setAmount(chestItem.getAmount() - toRemove);
+                    removedCount += toRemove;
+                    if (removedCount >= amount) {
+                        break; // Enough items removed
+                    }
+                }
+            }
+        }
+        return removedCount;
+    }
+
+    /**
+     * Gives an amount of an item to a player in stacks of at most the item's max stack size.
+     * Anything that does not fit (e.g., if the inventory changed meanwhile) is dropped at the player's feet.
+     * @param player The player to give the items to.
+     * @param item The item to give.
+     * @param amount The number of items to give.
+     */
+    public static void giveItems(Player player, ItemStack item, int amount) {
+        int maxStackSize = item.getMaxStackSize();
+        while (amount > 0) {
+            ItemStack stack = item.clone();
+            stack.setAmount(Math.min(amount, maxStackSize));
+            amount -= stack.getAmount();
+            for (ItemStack leftover : player.getInventory().addItem(stack).values()) {
+                player.getWorld().dropItemNaturally(player.getLocation(), leftover);
+            }
+        }
+    }
+
+    /**
+     * Puts items into an inventory, dropping anything that does not fit at a location.
+     * @param inventory The inventory to put the items into.
+     * @param items The items to put back.
+     * @param dropLocation Where to drop items that do not fit.
+     */
+    public static void putItems(Inventory inventory, List<ItemStack> items, Location dropLocation) {
+        for (ItemStack leftover : inventory.addItem(items.toArray(new ItemStack[0])).values()) {
+            dropLocation.getWorld().dropItemNaturally(dropLocation, leftover);
+        }
+    }
+}
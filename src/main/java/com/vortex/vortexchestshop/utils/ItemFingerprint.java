@@ -0,0 +1,42 @@
+// src/main/java/com/vortex/vortexchestshop/utils/ItemFingerprint.java
+
+package com.vortex.vortexchestshop.utils;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Cheap precomputed summary of an item (material and whether it has meta), used to reject non-matching items
+ * before falling back to the full {@link ItemStack#isSimilar(ItemStack)}.
+ * <p>
+ * Items of a different material, or with/without meta when the reference has the opposite, are rejected
+ * without reading any meta. Plain items of the same material match without a full comparison. Only items
+ * with meta are compared in full; their meta is never copied out of the stack just to be hashed.
+ */
+public final class ItemFingerprint {
+
+    private final ItemStack item;
+    private final Material material;
+    private final boolean hasMeta;
+
+    /**
+     * @param item The reference item. It is not copied, so it must not be modified afterwards.
+     */
+    public ItemFingerprint(ItemStack item) {
+        this.item = item;
+        this.material = item.getType();
+        this.hasMeta = item.hasItemMeta();
+    }
+
+    /**
+     * Checks whether an item is similar to the reference item (equal apart from its amount).
+     * @param other The item to check; may be null.
+     * @return true if the item is similar to the reference item.
+     */
+    public boolean matches(ItemStack other) {
+        if (other == null || other.getType() != material || other.hasItemMeta() != hasMeta) {
+            return false;
+        }
+        return !hasMeta || item.isSimilar(other);
+    }
+}
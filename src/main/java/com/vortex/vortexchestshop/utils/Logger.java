@@ -2,7 +2,8 @@
 
 package com.vortex.vortexchestshop.utils;
 
-import com.vortex.vortexchestshop.VortexChestShop; // Import the main plugin class to access its config
+import com.vortex.vortexchestshop.VortexChestShop; // Import the main plugin class to access its settings
+import com.vortex.vortexchestshop.config.Settings;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 
@@ -41,8 +42,10 @@ public class Logger {
      * @param message The message to log.
      */
     public static void debug(String message) {
-        // Check if the main plugin instance is available and if debug mode is enabled in its config
-        if (VortexChestShop.getInstance() != null && VortexChestShop.getInstance().getConfig().getBoolean("debug-mode", false)) {
+        // Check if the main plugin instance is available and if debug mode is enabled in its settings
+        VortexChestShop plugin = VortexChestShop.getInstance();
+        Settings settings = plugin != null ? plugin.getSettings() : null;
+        if (settings != null && settings.debugMode()) {
             Bukkit.getConsoleSender().sendMessage(PREFIX + ChatColor.GRAY + "[DEBUG] " + message);
         }
     }
@@ -0,0 +1,175 @@
+// src/main/java/com/vortex/vortexchestshop/utils/LongObjectMap.java
+
+package com.vortex.vortexchestshop.utils;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Open-addressing hash map from primitive long keys to objects.
+ * Lookups do not box the key and allocate nothing. Null values are not supported.
+ * Not thread-safe.
+ *
+ * @param <V> The value type.
+ */
+public class LongObjectMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private Object[] values; // null marks an empty slot
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public LongObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing spreads packed coordinates that differ only in their low bits
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * @param key The key to look up.
+     * @return The value mapped to the key, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int index = slot(key);
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Maps a key to a value, replacing any existing mapping.
+     * @param key The key.
+     * @param value The value; must not be null.
+     * @return The previous value, or null if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("LongObjectMap does not support null values");
+        }
+        int index = slot(key);
+        Object existing;
+        while ((existing = values[index]) != null) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return (V) existing;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the mapping for a key.
+     * @param key The key.
+     * @return The removed value, or null if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int index = slot(key);
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                values[index] = null;
+                size--;
+                shiftBack(index);
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Closes the gap left by a removal by moving later entries of the same probe chain back,
+     * so lookups never need tombstones.
+     */
+    private void shiftBack(int gap) {
+        int index = (gap + 1) & mask;
+        Object value;
+        while ((value = values[index]) != null) {
+            int home = slot(keys[index]);
+            // Move the entry if its home slot is not cyclically within (gap, index]
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = value;
+                values[index] = null;
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int index = slot(oldKeys[i]);
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Calls the action for every value in the map. The map must not be modified during iteration.
+     * @param action The action to run.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+}
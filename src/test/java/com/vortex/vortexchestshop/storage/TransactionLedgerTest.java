@@ -0,0 +1,288 @@
+// src/test/java/com/vortex/vortexchestshop/storage/TransactionLedgerTest.java
+
+package com.vortex.vortexchestshop.storage;
+
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionLedgerTest {
+
+    // Frame sizes: int length + body (byte type, long sequence, long timestamp, payload) + int CRC
+    private static final int SHOP_DELETE_FRAME = 4 + 17 + 16 + 4;
+    private static final int PURCHASE_BEGIN_FRAME = 4 + 17 + 16 * 4 + 4 + 8 + 8 + 4;
+
+    @TempDir
+    Path folder;
+
+    private final UUID shopA = UUID.randomUUID();
+    private final UUID shopB = UUID.randomUUID();
+    private final UUID shopC = UUID.randomUUID();
+    private final RecordingLog log = new RecordingLog();
+
+    /**
+     * Collects the ledger's log messages instead of sending them to a server console.
+     */
+    private static final class RecordingLog implements TransactionLedger.LogSink {
+        private final List<String> warnings = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+
+        @Override
+        public void info(String message) {
+        }
+
+        @Override
+        public void warning(String message) {
+            warnings.add(message);
+        }
+
+        @Override
+        public void severe(String message) {
+            errors.add(message);
+        }
+
+        @Override
+        public void debug(String message) {
+        }
+    }
+
+    /**
+     * Captures the shop changes replayed by {@link TransactionLedger#recover}.
+     */
+    private static final class RecordingRepository implements ShopRepository {
+        private final List<ShopRecord> upserts = new ArrayList<>();
+        private final List<UUID> deletions = new ArrayList<>();
+
+        @Override
+        public boolean hasData() {
+            return false;
+        }
+
+        @Override
+        public List<ShopRecord> loadAll() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<ShopRecord> loadWorld(String worldName) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void write(Collection<ShopRecord> upserts, Collection<UUID> deletions) {
+            this.upserts.addAll(upserts);
+            this.deletions.addAll(deletions);
+        }
+
+        @Override
+        public int countByOwner(UUID ownerUUID) {
+            return 0;
+        }
+
+        @Override
+        public List<ShopRecord> findByOwner(UUID ownerUUID) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<ShopRecord> findByMaterial(Material material) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private TransactionLedger openLedger(RecordingRepository repository) {
+        TransactionLedger ledger = new TransactionLedger(null, folder.toFile(), log);
+        ledger.recover(repository);
+        return ledger;
+    }
+
+    private UUID beginPurchase(TransactionLedger ledger) {
+        return ledger.beginPurchase(shopA, UUID.randomUUID(), UUID.randomUUID(), 16, 100.0, 5.0);
+    }
+
+    private Path ledgerFile() {
+        return folder.resolve("ledger.log");
+    }
+
+    private List<String> unresolvedReport() throws IOException {
+        Path report = folder.resolve("unresolved-purchases.log");
+        return Files.exists(report) ? Files.readAllLines(report, StandardCharsets.UTF_8) : Collections.emptyList();
+    }
+
+    private void writeDeletes(UUID... shopIds) {
+        TransactionLedger ledger = openLedger(new RecordingRepository());
+        for (UUID shopId : shopIds) {
+            ledger.appendShopDelete(shopId);
+        }
+        assertTrue(ledger.commit());
+        ledger.shutdown();
+    }
+
+    @Test
+    void recoverReplaysShopChangesAndReportsUnfinishedPurchasesOnce() throws IOException {
+        TransactionLedger ledger = openLedger(new RecordingRepository());
+        ledger.appendShopDelete(shopA);
+        ledger.appendShopDelete(shopB);
+        UUID open = beginPurchase(ledger);
+        UUID committed = beginPurchase(ledger);
+        ledger.recordPurchaseStage(committed, TransactionLedger.PURCHASE_WITHDRAWN);
+        ledger.recordPurchaseStage(committed, TransactionLedger.PURCHASE_COMMIT);
+        assertTrue(ledger.commit());
+        // Simulate a crash: the ledger is never shut down, only what commit() synced counts
+        assertEquals(2L * SHOP_DELETE_FRAME + 2L * PURCHASE_BEGIN_FRAME + 2L * SHOP_DELETE_FRAME, Files.size(ledgerFile()));
+
+        RecordingRepository repository = new RecordingRepository();
+        TransactionLedger recovered = openLedger(repository);
+        assertEquals(Arrays.asList(shopA, shopB), repository.deletions);
+        List<String> report = unresolvedReport();
+        assertEquals(1, report.size());
+        assertTrue(report.get(0).contains("transaction=" + open));
+        assertTrue(report.get(0).contains("stage=BEGIN"));
+        assertFalse(log.errors.isEmpty()); // The unfinished purchase is reported on the console too
+        recovered.shutdown();
+
+        // The purchase was marked as abandoned and the shop changes are in the snapshot
+        RecordingRepository again = new RecordingRepository();
+        openLedger(again).shutdown();
+        assertTrue(again.deletions.isEmpty());
+        assertEquals(1, unresolvedReport().size());
+    }
+
+    @Test
+    void reservedPurchasesAreReportedUntilResolved() throws IOException {
+        TransactionLedger ledger = openLedger(new RecordingRepository());
+        UUID reserved = ledger.reservePurchase(shopA, UUID.randomUUID(), UUID.randomUUID(), 32);
+        UUID returned = ledger.reservePurchase(shopA, UUID.randomUUID(), UUID.randomUUID(), 32);
+        ledger.recordPurchaseStage(returned, TransactionLedger.PURCHASE_ROLLBACK);
+        UUID begun = ledger.reservePurchase(shopB, UUID.randomUUID(), UUID.randomUUID(), 32);
+        ledger.beginPurchase(begun, shopB, UUID.randomUUID(), UUID.randomUUID(), 16, 100.0, 5.0);
+        assertTrue(ledger.commit());
+
+        openLedger(new RecordingRepository()).shutdown();
+        List<String> report = unresolvedReport();
+        assertEquals(2, report.size());
+        assertTrue(report.get(0).contains("transaction=" + reserved));
+        assertTrue(report.get(0).contains("quantity=32 stage=RESERVED"));
+        assertTrue(report.get(1).contains("transaction=" + begun));
+        assertTrue(report.get(1).contains("quantity=16 cost=100.0 tax=5.0 stage=BEGIN"));
+    }
+
+    @Test
+    void partialRefundIsReportedWithItsOwnStage() throws IOException {
+        TransactionLedger ledger = openLedger(new RecordingRepository());
+        UUID refunded = beginPurchase(ledger);
+        ledger.recordPurchaseStage(refunded, TransactionLedger.PURCHASE_WITHDRAWN);
+        ledger.recordPurchaseStage(refunded, TransactionLedger.PURCHASE_BUYER_REFUNDED);
+        assertTrue(ledger.commit());
+
+        openLedger(new RecordingRepository()).shutdown();
+        List<String> report = unresolvedReport();
+        assertEquals(1, report.size());
+        assertTrue(report.get(0).contains("transaction=" + refunded));
+        assertTrue(report.get(0).contains("stage=BUYER_REFUNDED"));
+    }
+
+    @Test
+    void tornTailIsIgnoredAndMovedAside() throws IOException {
+        writeDeletes(shopA, shopB, shopC);
+        try (FileChannel channel = FileChannel.open(ledgerFile(), StandardOpenOption.WRITE)) {
+            channel.truncate(3L * SHOP_DELETE_FRAME - 10); // Cut the last entry in half
+        }
+
+        RecordingRepository repository = new RecordingRepository();
+        TransactionLedger ledger = openLedger(repository);
+        assertEquals(Arrays.asList(shopA, shopB), repository.deletions);
+        assertEquals(2L * SHOP_DELETE_FRAME, Files.size(ledgerFile()));
+        assertEquals(SHOP_DELETE_FRAME - 10, Files.size(folder.resolve("ledger.log.damaged")));
+        assertTrue(log.warnings.get(0).contains("torn entry"));
+
+        // New entries go right after the intact ones and are read back
+        UUID shopD = UUID.randomUUID();
+        ledger.appendShopDelete(shopD);
+        assertTrue(ledger.commit());
+        ledger.shutdown();
+        RecordingRepository next = new RecordingRepository();
+        openLedger(next).shutdown();
+        assertEquals(Collections.singletonList(shopD), next.deletions);
+    }
+
+    @Test
+    void corruptEntryInTheMiddleEndsTheReplay() throws IOException {
+        writeDeletes(shopA, shopB, shopC);
+        byte[] bytes = Files.readAllBytes(ledgerFile());
+        bytes[SHOP_DELETE_FRAME + 4 + 20] ^= 0x5A; // Inside the payload of the second entry
+        Files.write(ledgerFile(), bytes);
+
+        RecordingRepository repository = new RecordingRepository();
+        openLedger(repository).shutdown();
+        assertEquals(Collections.singletonList(shopA), repository.deletions);
+        assertEquals(2L * SHOP_DELETE_FRAME, Files.size(folder.resolve("ledger.log.damaged")));
+        assertTrue(log.warnings.get(0).contains("failed its checksum"));
+    }
+
+    @Test
+    void compactKeepsOnlyUnsnapshottedChangesAndOpenPurchases() throws IOException {
+        TransactionLedger ledger = openLedger(new RecordingRepository());
+        ledger.appendShopDelete(shopA);
+        long snapshot = ledger.appendShopDelete(shopB);
+        UUID open = beginPurchase(ledger);
+        UUID rolledBack = beginPurchase(ledger);
+        ledger.recordPurchaseStage(rolledBack, TransactionLedger.PURCHASE_ROLLBACK);
+        ledger.appendShopDelete(shopC);
+        assertTrue(ledger.commit());
+
+        ledger.markSnapshot(snapshot);
+        ledger.compact();
+        assertEquals((long) PURCHASE_BEGIN_FRAME + SHOP_DELETE_FRAME, Files.size(ledgerFile()));
+
+        // Appends after a compaction go to the rewritten file
+        UUID shopD = UUID.randomUUID();
+        ledger.appendShopDelete(shopD);
+        assertTrue(ledger.commit());
+
+        RecordingRepository repository = new RecordingRepository();
+        openLedger(repository).shutdown();
+        assertEquals(Arrays.asList(shopC, shopD), repository.deletions);
+        List<String> report = unresolvedReport();
+        assertEquals(1, report.size());
+        assertTrue(report.get(0).contains("transaction=" + open));
+    }
+
+    @Test
+    void commitBeforeRecoveryKeepsEntriesBuffered() throws IOException {
+        TransactionLedger ledger = new TransactionLedger(null, folder.toFile(), log);
+        ledger.appendShopDelete(shopA);
+        assertFalse(ledger.commit());
+        assertFalse(Files.exists(ledgerFile()));
+
+        ledger.recover(new RecordingRepository());
+        assertTrue(ledger.commit());
+        ledger.shutdown();
+
+        RecordingRepository repository = new RecordingRepository();
+        openLedger(repository).shutdown();
+        assertEquals(Collections.singletonList(shopA), repository.deletions);
+    }
+}
@@ -0,0 +1,79 @@
+// src/test/java/com/vortex/vortexchestshop/utils/BlockKeyTest.java
+
+package com.vortex.vortexchestshop.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockKeyTest {
+
+    // Limits of the packed layout: 26 bits of X/Z and 12 bits of Y, all signed
+    private static final int MIN_XZ = -(1 << 25);
+    private static final int MAX_XZ = (1 << 25) - 1;
+    private static final int MIN_Y = -2048;
+    private static final int MAX_Y = 2047;
+
+    private static void assertRoundTrip(int x, int y, int z) {
+        long key = BlockKey.pack(x, y, z);
+        assertEquals(x, BlockKey.unpackX(key), "x of " + x + "," + y + "," + z);
+        assertEquals(y, BlockKey.unpackY(key), "y of " + x + "," + y + "," + z);
+        assertEquals(z, BlockKey.unpackZ(key), "z of " + x + "," + y + "," + z);
+    }
+
+    @Test
+    void roundTripsOrdinaryCoordinates() {
+        assertRoundTrip(0, 0, 0);
+        assertRoundTrip(123, 64, -456);
+        assertRoundTrip(-1, -1, -1);
+        assertRoundTrip(-30000, -64, 29999);
+    }
+
+    @Test
+    void roundTripsExtremeCoordinates() {
+        int[] xz = {MIN_XZ, MIN_XZ + 1, -1, 0, 1, MAX_XZ - 1, MAX_XZ, -30_000_000, 30_000_000};
+        int[] y = {MIN_Y, -64, -1, 0, 1, 319, MAX_Y};
+        for (int x : xz) {
+            for (int z : xz) {
+                for (int blockY : y) {
+                    assertRoundTrip(x, blockY, z);
+                }
+            }
+        }
+    }
+
+    @Test
+    void neighbouringBlocksGetDistinctKeys() {
+        Set<Long> keys = new HashSet<>();
+        for (int x = -2; x <= 2; x++) {
+            for (int y = -2; y <= 2; y++) {
+                for (int z = -2; z <= 2; z++) {
+                    assertTrue(keys.add(BlockKey.pack(x, y, z)), "duplicate key for " + x + "," + y + "," + z);
+                }
+            }
+        }
+        // The sign bit of one field must not leak into the next
+        assertNotEquals(BlockKey.pack(0, -1, 0), BlockKey.pack(0, 0, -1));
+        assertNotEquals(BlockKey.pack(0, 0, -1), BlockKey.pack(-1, 0, 0));
+        assertNotEquals(BlockKey.pack(MAX_XZ, 0, 0), BlockKey.pack(MIN_XZ, 0, 0));
+    }
+
+    @Test
+    void chunkKeysKeepBothSigns() {
+        Set<Long> keys = new HashSet<>();
+        int[] coordinates = {Integer.MIN_VALUE, -2, -1, 0, 1, Integer.MAX_VALUE};
+        for (int chunkX : coordinates) {
+            for (int chunkZ : coordinates) {
+                long key = BlockKey.packChunk(chunkX, chunkZ);
+                assertTrue(keys.add(key), "duplicate chunk key for " + chunkX + "," + chunkZ);
+                assertEquals(chunkX, (int) (key >> 32));
+                assertEquals(chunkZ, (int) key);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+// src/test/java/com/vortex/vortexchestshop/utils/LongObjectMapTest.java
+
+package com.vortex.vortexchestshop.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongObjectMapTest {
+
+    // Mirrors LongObjectMap.slot() for a map of the default capacity
+    private static final int DEFAULT_MASK = 15;
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Finds keys whose home is the given slot of a default-capacity map.
+     */
+    private static List<Long> keysWithHome(int home, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 0; keys.size() < count; key++) {
+            if (slot(key, DEFAULT_MASK) == home) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    @Test
+    void putGetRemove() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        assertNull(map.put(1L, "a"));
+        assertEquals("a", map.put(1L, "b"));
+        assertEquals("b", map.get(1L));
+        assertEquals(1, map.size());
+        assertEquals("b", map.remove(1L));
+        assertNull(map.get(1L));
+        assertNull(map.remove(1L));
+        assertTrue(map.isEmpty());
+        assertThrows(NullPointerException.class, () -> map.put(2L, null));
+    }
+
+    @Test
+    void removalInsideACollisionChainKeepsLaterEntriesReachable() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        List<Long> chain = keysWithHome(3, 4);
+        for (long key : chain) {
+            map.put(key, key);
+        }
+        // Removing the head leaves a gap that the backward shift has to close
+        map.remove(chain.get(0));
+        for (long key : chain.subList(1, chain.size())) {
+            assertEquals(key, map.get(key));
+        }
+        map.remove(chain.get(2));
+        assertEquals(chain.get(1), map.get(chain.get(1)));
+        assertEquals(chain.get(3), map.get(chain.get(3)));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void removalDoesNotMoveEntriesBeforeTheirHomeSlot() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        long first = keysWithHome(5, 1).get(0);
+        long second = keysWithHome(5, 2).get(1);
+        long atHome = keysWithHome(7, 1).get(0); // Already in its home slot, so the shift must not move it
+        map.put(first, first);
+        map.put(second, second); // Slot 6
+        map.put(atHome, atHome); // Slot 7
+        map.remove(first);
+        assertEquals(second, map.get(second));
+        assertEquals(atHome, map.get(atHome));
+        assertNull(map.get(first));
+    }
+
+    @Test
+    void chainsWrappingAroundTheEndOfTheTable() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        List<Long> chain = keysWithHome(DEFAULT_MASK, 4); // Occupies slots 15, 0, 1, 2
+        for (long key : chain) {
+            map.put(key, key);
+        }
+        map.remove(chain.get(1));
+        map.remove(chain.get(0));
+        assertEquals(chain.get(2), map.get(chain.get(2)));
+        assertEquals(chain.get(3), map.get(chain.get(3)));
+    }
+
+    @Test
+    void behavesLikeAHashMapUnderRandomOperations() {
+        Random random = new Random(42);
+        LongObjectMap<Integer> map = new LongObjectMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // A small key space forces long probe chains and frequent removals within them
+            long key = BlockKey.pack(random.nextInt(64) - 32, random.nextInt(8), random.nextInt(64) - 32);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        int[] visited = {0};
+        map.forEachValue(value -> visited[0]++);
+        assertEquals(expected.size(), visited[0]);
+    }
+}
@@ -0,0 +1,81 @@
+// src/test/java/com/vortex/vortexchestshop/utils/ShopKeyLookupBenchmarkTest.java
+
+package com.vortex.vortexchestshop.utils;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares shop lookups by packed {@link BlockKey} in a {@link LongObjectMap} with the previous lookups by
+ * String.format("world,x,y,z") key in a HashMap. Only the lookup results are asserted, since timings depend on the
+ * machine; the timings are published as report entries. Tagged as a benchmark, so it only runs with
+ * {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+class ShopKeyLookupBenchmarkTest {
+
+    private static final int SHOPS = 20_000;
+    private static final int LOOKUPS = 500_000;
+    private static final int ROUNDS = 5;
+
+    private static String stringKey(String world, int x, int y, int z) {
+        return String.format("%s,%d,%d,%d", world, x, y, z);
+    }
+
+    @Test
+    void packedKeysAgainstFormattedStringKeys(TestReporter reporter) {
+        Random random = new Random(7);
+        int[][] shops = new int[SHOPS][];
+        LongObjectMap<Integer> packed = new LongObjectMap<>();
+        Map<String, Integer> formatted = new HashMap<>();
+        for (int i = 0; i < SHOPS; i++) {
+            int x = random.nextInt(20_000) - 10_000;
+            int y = random.nextInt(384) - 64;
+            int z = random.nextInt(20_000) - 10_000;
+            shops[i] = new int[]{x, y, z};
+            packed.put(BlockKey.pack(x, y, z), i);
+            formatted.put(stringKey("world", x, y, z), i);
+        }
+        // Half of the lookups hit a shop, half miss (like interacting with ordinary chests)
+        int[][] lookups = new int[LOOKUPS][];
+        for (int i = 0; i < LOOKUPS; i++) {
+            int[] shop = shops[random.nextInt(SHOPS)];
+            lookups[i] = random.nextBoolean() ? shop : new int[]{shop[0] + 1, shop[1], shop[2]};
+        }
+
+        long packedNanos = Long.MAX_VALUE;
+        long formattedNanos = Long.MAX_VALUE;
+        long packedHits = 0;
+        long formattedHits = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            packedHits = 0;
+            for (int[] lookup : lookups) {
+                if (packed.get(BlockKey.pack(lookup[0], lookup[1], lookup[2])) != null) {
+                    packedHits++;
+                }
+            }
+            packedNanos = Math.min(packedNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            formattedHits = 0;
+            for (int[] lookup : lookups) {
+                if (formatted.get(stringKey("world", lookup[0], lookup[1], lookup[2])) != null) {
+                    formattedHits++;
+                }
+            }
+            formattedNanos = Math.min(formattedNanos, System.nanoTime() - start);
+        }
+
+        assertEquals(formattedHits, packedHits);
+        reporter.publishEntry("packed LongObjectMap ns/op", String.format("%.1f", (double) packedNanos / LOOKUPS));
+        reporter.publishEntry("String.format HashMap ns/op", String.format("%.1f", (double) formattedNanos / LOOKUPS));
+    }
+}